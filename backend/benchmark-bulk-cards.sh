@@ -0,0 +1,78 @@
+#!/bin/bash
+
+# Bulk Card Insert Benchmark
+# Đo throughput của POST /decks/{deckId}/cards/bulk với 1k và 10k thẻ mỗi lần gọi
+# Yêu cầu: backend đang chạy, curl, jq
+
+BASE_URL="${BASE_URL:-http://localhost:8080/api/v1}"
+EMAIL="${EMAIL:-user@example.com}"
+PASSWORD="${PASSWORD:-password123}"
+SIZES="${SIZES:-1000 10000}"
+RUNS="${RUNS:-3}"
+
+echo "========================================="
+echo "BULK CARD INSERT BENCHMARK"
+echo "========================================="
+echo ""
+
+# Step 1: Login để lấy JWT token
+echo "1. Đăng nhập để lấy JWT token..."
+LOGIN_RESPONSE=$(curl -s -X POST "$BASE_URL/auth/login" \
+  -H "Content-Type: application/json" \
+  -d "{\"email\": \"$EMAIL\", \"password\": \"$PASSWORD\"}")
+
+TOKEN=$(echo $LOGIN_RESPONSE | grep -o '"token":"[^"]*' | cut -d'"' -f4)
+
+if [ -z "$TOKEN" ]; then
+  echo "❌ Login failed. Please check credentials."
+  echo "Response: $LOGIN_RESPONSE"
+  exit 1
+fi
+
+echo "✅ Login thành công!"
+echo ""
+
+for SIZE in $SIZES; do
+  # Step 2: Sinh payload SIZE thẻ (HTML giống editor của web)
+  PAYLOAD_FILE=$(mktemp)
+  jq -n --argjson n "$SIZE" \
+    '[range($n) | {term: "<p>Term \(.)</p>", definition: "<p>Definition <b>\(.)</b></p>", example: "Example \(.)", tags: ["bench"]}]' \
+    > "$PAYLOAD_FILE"
+
+  echo "2. Benchmark $SIZE thẻ/lần gọi ($RUNS lần)..."
+
+  for RUN in $(seq 1 $RUNS); do
+    # Mỗi lần chạy dùng deck mới để position/kích thước deck không ảnh hưởng kết quả
+    DECK_ID=$(curl -s -X POST "$BASE_URL/decks" \
+      -H "Authorization: Bearer $TOKEN" \
+      -H "Content-Type: application/json" \
+      -d "{\"title\": \"Bulk benchmark $SIZE #$RUN\", \"sourceType\": \"LOCAL\"}" | jq -r '.id')
+
+    START_NS=$(date +%s%N)
+    HTTP_CODE=$(curl -s -o /dev/null -w "%{http_code}" -X POST "$BASE_URL/decks/$DECK_ID/cards/bulk" \
+      -H "Authorization: Bearer $TOKEN" \
+      -H "Content-Type: application/json" \
+      --data-binary "@$PAYLOAD_FILE")
+    END_NS=$(date +%s%N)
+
+    ELAPSED_MS=$(( (END_NS - START_NS) / 1000000 ))
+    if [ "$ELAPSED_MS" -gt 0 ]; then
+      CARDS_PER_SEC=$(( SIZE * 1000 / ELAPSED_MS ))
+    else
+      CARDS_PER_SEC="n/a"
+    fi
+
+    echo "   run $RUN: HTTP $HTTP_CODE, ${ELAPSED_MS} ms, ${CARDS_PER_SEC} cards/s"
+
+    # Dọn dẹp deck benchmark (soft delete)
+    curl -s -o /dev/null -X DELETE "$BASE_URL/decks/$DECK_ID" \
+      -H "Authorization: Bearer $TOKEN"
+  done
+
+  rm -f "$PAYLOAD_FILE"
+  echo ""
+done
+
+echo "========================================="
+echo "✅ Hoàn thành benchmark!"
+echo "========================================="
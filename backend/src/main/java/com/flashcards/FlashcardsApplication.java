@@ -2,12 +2,14 @@ package com.flashcards;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Application Class
  * Flashcard Learning App - Anki + Quizlet Clone
  */
 @SpringBootApplication
+@EnableScheduling
 public class FlashcardsApplication {
 
     public static void main(String[] args) {
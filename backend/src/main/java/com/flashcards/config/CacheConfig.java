@@ -0,0 +1,74 @@
+package com.flashcards.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cache Configuration
+ * In-memory Caffeine caches for the statistics read endpoints
+ *
+ * Entries are evicted by StatisticsCacheInvalidator when the underlying data
+ * changes; the TTL only bounds staleness for time-based values (streaks roll
+ * over at midnight, cards become due as time passes).
+ * Stats are recorded so hit ratio / evictions show up under /actuator/metrics
+ * (cache.gets, cache.evictions, cache.size).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String STATISTICS_SUMMARY = "statisticsSummary";
+    public static final String ENHANCED_SUMMARY = "enhancedSummary";
+    public static final String MASTERY_LEVELS = "masteryLevels";
+    public static final String DUE_SUMMARY = "dueSummary";
+    public static final String STUDY_TIME = "studyTime";
+    public static final String RETENTION = "retention";
+
+    @Value("${app.cache.statistics.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${app.cache.statistics.ttl:10m}")
+    private Duration statisticsTtl;
+
+    @Value("${app.cache.due-summary.ttl:1m}")
+    private Duration dueSummaryTtl;
+
+    @Value("${app.cache.retention.idle-ttl:24h}")
+    private Duration retentionIdleTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the caches below exist; an unknown cache name is a programming error
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache(STATISTICS_SUMMARY, build(statisticsTtl));
+        cacheManager.registerCustomCache(ENHANCED_SUMMARY, build(statisticsTtl));
+        cacheManager.registerCustomCache(MASTERY_LEVELS, build(statisticsTtl));
+        cacheManager.registerCustomCache(STUDY_TIME, build(statisticsTtl));
+        cacheManager.registerCustomCache(DUE_SUMMARY, build(dueSummaryTtl));
+        // Refreshed incrementally on read instead of evicted, so only idle users expire
+        cacheManager.registerCustomCache(RETENTION, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(retentionIdleTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+
+    private Cache<Object, Object> build(Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
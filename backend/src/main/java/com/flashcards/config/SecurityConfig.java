@@ -69,7 +69,7 @@ public class SecurityConfig {
                     "/swagger-resources/**",
                     "/webjars/**"
                 ).permitAll()
-                .requestMatchers("/actuator/**").permitAll() // Health checks, metrics
+                .requestMatchers("/actuator/health").permitAll() // Health checks; metrics require a token
                 
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
@@ -2,10 +2,13 @@ package com.flashcards.controller;
 
 import com.flashcards.dto.request.LoginRequest;
 import com.flashcards.dto.request.RegisterRequest;
+import com.flashcards.dto.request.UpdateTimeZoneRequest;
 import com.flashcards.dto.response.AuthResponse;
 import com.flashcards.model.entity.User;
 import com.flashcards.repository.UserRepository;
 import com.flashcards.security.JwtUtils;
+import com.flashcards.service.DailyActivityService;
+import com.flashcards.util.TimeZones;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -17,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -38,12 +42,13 @@ public class AuthController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
+    private final DailyActivityService dailyActivityService;
 
     /**
      * Register a new user
      * POST /api/v1/auth/register
      *
-     * @param request Registration data (email, password)
+     * @param request Registration data (email, password, optional time zone)
      * @return JWT token and user info
      */
     @Operation(summary = "Đăng ký tài khoản mới", description = "Tạo tài khoản mới và nhận JWT token")
@@ -59,10 +64,16 @@ public class AuthController {
                     .body(AuthResponse.withMessage("Email already exists"));
         }
 
+        // Validate before creating anything (IllegalArgumentException -> 400)
+        String timeZone = request.getTimeZone() != null && !request.getTimeZone().isBlank()
+                ? TimeZones.parse(request.getTimeZone()).getId()
+                : null;
+
         // Create new user with BCrypt hashed password
         User user = User.builder()
                 .email(request.getEmail())
                 .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .timeZone(timeZone)
                 .build();
 
         User savedUser = userRepository.save(user);
@@ -177,6 +188,7 @@ public class AuthController {
             AuthResponse response = AuthResponse.builder()
                     .userId(user.getId().toString())
                     .email(user.getEmail())
+                    .timeZone(dailyActivityService.zoneOf(user.getId()).getId())
                     .build();
 
             return ResponseEntity.ok(response);
@@ -186,4 +198,41 @@ public class AuthController {
                 .status(HttpStatus.UNAUTHORIZED)
                 .body(AuthResponse.withMessage("Not authenticated"));
     }
+
+    /**
+     * Change the time zone used to bucket study days
+     * PUT /api/v1/auth/me/timezone
+     * Rebuilds the daily activity history and streak in the new zone
+     *
+     * @param request New time zone id
+     * @return Current user info with the stored time zone
+     */
+    @Operation(summary = "Đổi múi giờ người dùng", description = "Cập nhật múi giờ dùng để tính ngày học, chuỗi ngày và heatmap")
+    @SecurityRequirement(name = "bearerAuth")
+    @PutMapping("/me/timezone")
+    public ResponseEntity<AuthResponse> updateTimeZone(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody UpdateTimeZoneRequest request) {
+        // /api/v1/auth/** is permitAll, so an anonymous request reaches this method
+        if (userDetails == null) {
+            return ResponseEntity
+                    .status(HttpStatus.UNAUTHORIZED)
+                    .body(AuthResponse.withMessage("Not authenticated"));
+        }
+
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        log.info("PUT /api/v1/auth/me/timezone - userId: {}, timeZone: {}", user.getId(), request.getTimeZone());
+
+        String timeZone = dailyActivityService.updateTimeZone(user.getId(), request.getTimeZone());
+
+        AuthResponse response = AuthResponse.builder()
+                .userId(user.getId().toString())
+                .email(user.getEmail())
+                .timeZone(timeZone)
+                .message("Time zone updated")
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
 }
@@ -3,6 +3,7 @@ package com.flashcards.controller;
 import com.flashcards.dto.request.CreateCardRequest;
 import com.flashcards.dto.request.ReorderCardsRequest;
 import com.flashcards.dto.request.UpdateCardRequest;
+import com.flashcards.dto.response.CardPageResponse;
 import com.flashcards.dto.response.CardResponse;
 import com.flashcards.dto.response.DueCardsSummaryResponse;
 import com.flashcards.exception.UnauthorizedException;
@@ -119,6 +120,37 @@ public class CardController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get a page of cards in a deck (keyset pagination)
+     * GET /api/v1/decks/{deckId}/cards/page?limit=50&fields=id,term,position
+     * Next page: pass nextAfterPosition/nextAfterId from the previous response
+     *
+     * @param userDetails Authenticated user from JWT token
+     * @param deckId Deck ID
+     * @param afterPosition Position of the last card already received (optional)
+     * @param afterId Id of the last card already received (optional)
+     * @param fields Comma-separated fields to return (optional, default all)
+     * @param limit Page size (default 50, max 500)
+     * @return Page of cards with cursor
+     */
+    @GetMapping("/decks/{deckId}/cards/page")
+    public ResponseEntity<CardPageResponse> getCardPage(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable UUID deckId,
+            @RequestParam(required = false) Integer afterPosition,
+            @RequestParam(required = false) UUID afterId,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "50") int limit) {
+        
+        User user = getCurrentUser(userDetails);
+        log.info("GET /api/v1/decks/{}/cards/page - userId: {}, afterPosition: {}, limit: {}, fields: {}", 
+                 deckId, user.getId(), afterPosition, limit, fields);
+
+        CardPageResponse response = cardService.getCardPage(user, deckId, afterPosition, afterId, fields, limit);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get a specific card by ID
      * GET /api/v1/cards/{id}
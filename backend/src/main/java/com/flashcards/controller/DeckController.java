@@ -1,9 +1,13 @@
 package com.flashcards.controller;
 
+import com.flashcards.dto.request.CloneDeckRequest;
 import com.flashcards.dto.request.CreateDeckRequest;
 import com.flashcards.dto.request.ImportCardsRequest;
 import com.flashcards.dto.request.UpdateDeckRequest;
+import com.flashcards.dto.response.BulkUpdateResponse;
 import com.flashcards.dto.response.CardResponse;
+import com.flashcards.dto.response.DeckPageResponse;
+import com.flashcards.dto.response.DeckProgressResponse;
 import com.flashcards.dto.response.DeckResponse;
 import com.flashcards.dto.response.ImportResultDTO;
 import com.flashcards.exception.UnauthorizedException;
@@ -13,6 +17,7 @@ import com.flashcards.security.CustomUserDetailsService;
 import com.flashcards.service.CardService;
 import com.flashcards.service.DeckService;
 import com.flashcards.service.ImportExportService;
+import com.flashcards.service.RescheduleService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,6 +46,7 @@ public class DeckController {
     private final DeckService deckService;
     private final CardService cardService;
     private final ImportExportService importExportService;
+    private final RescheduleService rescheduleService;
     private final CustomUserDetailsService userDetailsService;
 
     /**
@@ -83,6 +89,61 @@ public class DeckController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get a page of decks for authenticated user (keyset pagination)
+     * GET /api/v1/decks/page?sort=title&direction=asc&folderId=...&q=ja&limit=50
+     * Next page: pass nextCursor from the previous response as cursor
+     *
+     * @param userDetails Authenticated user from JWT token
+     * @param sort lastViewedAt (default), updatedAt, title or cardCount
+     * @param direction asc or desc (optional, default depends on sort)
+     * @param folderId Only decks in this folder (optional)
+     * @param uncategorized Only decks without a folder (default false)
+     * @param q Title prefix, case-insensitive (optional)
+     * @param cursor Cursor from the previous page (optional)
+     * @param limit Page size (default 50, max 200)
+     * @return Page of decks with cursor
+     */
+    @GetMapping("/page")
+    public ResponseEntity<DeckPageResponse> getDeckPage(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) UUID folderId,
+            @RequestParam(defaultValue = "false") boolean uncategorized,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        
+        User user = getCurrentUser(userDetails);
+        log.info("GET /api/v1/decks/page - userId: {}, sort: {}, direction: {}, folderId: {}, limit: {}", 
+                 user.getId(), sort, direction, folderId, limit);
+
+        DeckPageResponse response = deckService.getDeckPage(
+                user, folderId, uncategorized, q, sort, direction, cursor, limit);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get mastery progress for all decks of authenticated user
+     * GET /api/v1/decks/progress
+     *
+     * @param userDetails Authenticated user from JWT token
+     * @return One progress entry per deck (new / still learning / almost done / mastered)
+     */
+    @GetMapping("/progress")
+    public ResponseEntity<List<DeckProgressResponse>> getAllDeckProgress(
+            @AuthenticationPrincipal UserDetails userDetails) {
+        
+        User user = getCurrentUser(userDetails);
+        log.info("GET /api/v1/decks/progress - userId: {}", user.getId());
+
+        List<DeckProgressResponse> response = deckService.getAllDeckProgress(user);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get a specific deck by ID
      * GET /api/v1/decks/{id}
@@ -148,6 +209,48 @@ public class DeckController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Clone a deck with all of its cards
+     * POST /api/v1/decks/{id}/clone
+     *
+     * @param userDetails Authenticated user from JWT token
+     * @param id Deck ID to clone
+     * @param request Clone options (optional body)
+     * @return Created deck response
+     */
+    @PostMapping("/{id}/clone")
+    public ResponseEntity<DeckResponse> cloneDeck(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable UUID id,
+            @Valid @RequestBody(required = false) CloneDeckRequest request) {
+        
+        User user = getCurrentUser(userDetails);
+        log.info("POST /api/v1/decks/{}/clone - userId: {}", id, user.getId());
+
+        DeckResponse response = deckService.cloneDeck(user, id, request);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Reset learning progress of every card in a deck (cards become NEW)
+     * POST /api/v1/decks/{id}/progress/reset
+     *
+     * @param userDetails Authenticated user from JWT token
+     * @param id Deck ID
+     * @return Number of cards reset
+     */
+    @PostMapping("/{id}/progress/reset")
+    public ResponseEntity<BulkUpdateResponse> resetDeckProgress(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable UUID id) {
+
+        User user = getCurrentUser(userDetails);
+        log.info("POST /api/v1/decks/{}/progress/reset - userId: {}", id, user.getId());
+
+        return ResponseEntity.ok(rescheduleService.resetDeckProgress(user, id));
+    }
+
     /**
      * Get deck count for user
      * GET /api/v1/decks/count
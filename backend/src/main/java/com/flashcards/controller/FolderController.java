@@ -1,9 +1,12 @@
 package com.flashcards.controller;
 
 import com.flashcards.dto.request.CreateFolderRequest;
+import com.flashcards.dto.request.MoveDecksRequest;
 import com.flashcards.dto.request.UpdateFolderRequest;
+import com.flashcards.dto.response.BulkUpdateResponse;
 import com.flashcards.dto.response.DeckResponse;
 import com.flashcards.dto.response.FolderResponse;
+import com.flashcards.dto.response.LibraryResponse;
 import com.flashcards.model.entity.User;
 import com.flashcards.security.CustomUserDetailsService;
 import com.flashcards.service.FolderService;
@@ -66,6 +69,21 @@ public class FolderController {
         return ResponseEntity.ok(folders);
     }
     
+    /**
+     * Get the full library tree (folders with decks + uncategorized decks)
+     * GET /api/v1/folders/library
+     */
+    @GetMapping("/library")
+    public ResponseEntity<LibraryResponse> getLibrary(
+            @AuthenticationPrincipal UserDetails userDetails) {
+        User user = getCurrentUser(userDetails);
+        log.info("GET /api/v1/folders/library - Fetching library tree: user={}", user.getId());
+        
+        LibraryResponse library = folderService.getLibrary(user);
+        
+        return ResponseEntity.ok(library);
+    }
+    
     /**
      * Get folder by ID
      * GET /api/v1/folders/{id}?includeDecks=true
@@ -116,6 +134,40 @@ public class FolderController {
         return ResponseEntity.noContent().build();
     }
     
+    /**
+     * Delete several folders (soft delete, decks moved to uncategorized)
+     * DELETE /api/v1/folders/bulk-delete
+     */
+    @DeleteMapping("/bulk-delete")
+    public ResponseEntity<BulkUpdateResponse> deleteFolders(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody List<UUID> folderIds) {
+        User user = getCurrentUser(userDetails);
+        log.info("DELETE /api/v1/folders/bulk-delete - Deleting folders: user={}, folderIds={}", 
+                user.getId(), folderIds);
+        
+        BulkUpdateResponse response = folderService.deleteFolders(user, folderIds);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Move several decks to a folder (folderId = null moves them to uncategorized)
+     * POST /api/v1/folders/decks/move
+     */
+    @PostMapping("/decks/move")
+    public ResponseEntity<BulkUpdateResponse> moveDecks(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody MoveDecksRequest request) {
+        User user = getCurrentUser(userDetails);
+        log.info("POST /api/v1/folders/decks/move - Moving {} decks to folder {}: user={}", 
+                request.getDeckIds().size(), request.getFolderId(), user.getId());
+        
+        BulkUpdateResponse response = folderService.moveDecks(user, request.getFolderId(), request.getDeckIds());
+        
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Add deck to folder
      * POST /api/v1/folders/{folderId}/decks/{deckId}
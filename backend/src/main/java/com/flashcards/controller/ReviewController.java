@@ -2,6 +2,7 @@ package com.flashcards.controller;
 
 import com.flashcards.dto.request.RecordProgressRequest;
 import com.flashcards.dto.request.ReviewRequest;
+import com.flashcards.dto.response.BulkUpdateResponse;
 import com.flashcards.dto.response.CardResponse;
 import com.flashcards.dto.response.ReviewResponse;
 import com.flashcards.exception.UnauthorizedException;
@@ -14,6 +15,7 @@ import com.flashcards.repository.CardRepository;
 import com.flashcards.repository.UserRepository;
 import com.flashcards.security.CustomUserDetailsService;
 import com.flashcards.service.CardService;
+import com.flashcards.service.RescheduleService;
 import com.flashcards.service.ReviewService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -42,6 +44,7 @@ public class ReviewController {
 
     private final ReviewService reviewService;
     private final CardService cardService;
+    private final RescheduleService rescheduleService;
     private final CardProgressRepository cardProgressRepository;
     private final UserRepository userRepository;
     private final CustomUserDetailsService userDetailsService;
@@ -230,6 +233,48 @@ public class ReviewController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Postpone all due cards by N days
+     * POST /api/v1/reviews/postpone?days=N[&deckId=...]
+     *
+     * @param userDetails Authenticated user from JWT token
+     * @param days Days to postpone (1-365)
+     * @param deckId Limit to one deck (optional)
+     * @return Number of cards postponed
+     */
+    @PostMapping("/reviews/postpone")
+    public ResponseEntity<BulkUpdateResponse> postponeDueCards(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam int days,
+            @RequestParam(required = false) UUID deckId) {
+
+        User user = getCurrentUser(userDetails);
+        log.info("POST /api/v1/reviews/postpone - userId: {}, days: {}, deckId: {}", user.getId(), days, deckId);
+
+        return ResponseEntity.ok(rescheduleService.postponeDue(user, deckId, days));
+    }
+
+    /**
+     * Spread overdue cards evenly over the next N days (most overdue first)
+     * POST /api/v1/reviews/spread-overdue?days=N[&deckId=...]
+     *
+     * @param userDetails Authenticated user from JWT token
+     * @param days Days to spread over (1-365)
+     * @param deckId Limit to one deck (optional)
+     * @return Number of cards rescheduled
+     */
+    @PostMapping("/reviews/spread-overdue")
+    public ResponseEntity<BulkUpdateResponse> spreadOverdueCards(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam int days,
+            @RequestParam(required = false) UUID deckId) {
+
+        User user = getCurrentUser(userDetails);
+        log.info("POST /api/v1/reviews/spread-overdue - userId: {}, days: {}, deckId: {}", user.getId(), days, deckId);
+
+        return ResponseEntity.ok(rescheduleService.spreadOverdue(user, deckId, days));
+    }
+
     /**
      * Convert CardProgress entity to ReviewResponse DTO
      */
@@ -27,21 +27,25 @@ public class SearchController {
     /**
      * Global search endpoint
      * Searches across decks and cards
-     * GET /api/v1/search?q={query}
+     * GET /api/v1/search?q={query}&mode={fulltext|fuzzy}&threshold={0..1}
      *
      * @param userDetails Authenticated user from JWT token
      * @param query Search query string
+     * @param mode Search mode: fulltext (default) or fuzzy (typo-tolerant, substring)
+     * @param threshold Minimum similarity for fuzzy mode (optional)
      * @return SearchResultResponse containing matching decks and cards
      */
     @GetMapping
     public ResponseEntity<SearchResultResponse> search(
             @AuthenticationPrincipal UserDetails userDetails,
-            @RequestParam(value = "q", defaultValue = "") String query) {
+            @RequestParam(value = "q", defaultValue = "") String query,
+            @RequestParam(required = false) String mode,
+            @RequestParam(required = false) Double threshold) {
         
         User user = getCurrentUser(userDetails);
-        log.info("GET /api/v1/search - userId: {}, query: '{}'", user.getId(), query);
+        log.info("GET /api/v1/search - userId: {}, query: '{}', mode: {}", user.getId(), query, mode);
         
-        SearchResultResponse response = searchService.search(user, query);
+        SearchResultResponse response = searchService.search(user, query, mode, threshold);
         
         log.debug("Search completed - decks: {}, cards: {}", 
                 response.getDecks().size(), response.getCards().size());
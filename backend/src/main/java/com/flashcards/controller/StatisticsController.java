@@ -1,16 +1,20 @@
 package com.flashcards.controller;
 
+import com.flashcards.dto.response.HeatmapResponse;
 import com.flashcards.dto.response.MasteryLevelStatistics;
-import com.flashcards.dto.response.ModeStatisticsDetail;
+import com.flashcards.dto.response.RetentionSummaryResponse;
 import com.flashcards.dto.response.StatisticsSummaryResponse;
-import com.flashcards.dto.response.StudyTimeStatisticsResponse;
+import com.flashcards.dto.response.WorkloadSimulationResponse;
 import com.flashcards.dto.statistics.StatisticsSummaryDTO;
 import com.flashcards.model.entity.User;
 import com.flashcards.security.CustomUserDetailsService;
+import com.flashcards.service.DashboardService;
+import com.flashcards.service.RetentionAnalyticsService;
 import com.flashcards.service.StatisticsService;
-import com.flashcards.service.StudySessionService;
+import com.flashcards.service.WorkloadSimulatorService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -20,7 +24,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
+import java.time.LocalDate;
 import java.util.Map;
 import java.util.UUID;
 
@@ -31,7 +35,9 @@ import java.util.UUID;
 public class StatisticsController {
     
     private final StatisticsService statisticsService;
-    private final StudySessionService studySessionService;
+    private final DashboardService dashboardService;
+    private final RetentionAnalyticsService retentionAnalyticsService;
+    private final WorkloadSimulatorService workloadSimulatorService;
     private final CustomUserDetailsService userDetailsService;
     
     @GetMapping("/summary")
@@ -39,7 +45,8 @@ public class StatisticsController {
         String userEmail = authentication.getName();
         log.info("GET /api/v1/statistics/summary - User: {}", userEmail);
         
-        StatisticsSummaryDTO summary = statisticsService.getStatisticsSummary(userEmail);
+        User user = userDetailsService.getUserByEmail(userEmail);
+        StatisticsSummaryDTO summary = dashboardService.getSummary(user.getId());
         return ResponseEntity.ok(summary);
     }
 
@@ -57,6 +64,79 @@ public class StatisticsController {
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * Get mastery level statistics for every deck in one request
+     * Keyed by deck ID
+     */
+    @GetMapping("/mastery-levels/decks")
+    public ResponseEntity<Map<UUID, MasteryLevelStatistics>> getMasteryLevelsByDeck(
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        User user = userDetailsService.getUserByEmail(userDetails.getUsername());
+        log.info("GET /api/v1/statistics/mastery-levels/decks - userId: {}", user.getId());
+
+        Map<UUID, MasteryLevelStatistics> stats = statisticsService.getMasteryLevelStatisticsForAllDecks(user.getId());
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Get study heatmap for a date range
+     * Returns dense per-day arrays starting at {@code from}
+     * Defaults: the last 365 days in the user's time zone
+     */
+    @GetMapping("/heatmap")
+    public ResponseEntity<HeatmapResponse> getHeatmap(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String tz) {
+
+        User user = userDetailsService.getUserByEmail(userDetails.getUsername());
+        log.info("GET /api/v1/statistics/heatmap - userId: {}, from: {}, to: {}, tz: {}",
+                user.getId(), from, to, tz);
+
+        HeatmapResponse heatmap = statisticsService.getHeatmap(user.getId(), from, to, tz);
+        return ResponseEntity.ok(heatmap);
+    }
+
+    /**
+     * Get retention analytics: true retention, lapses and per-deck forgetting curves
+     * Refreshed incrementally from the last processed log; rebuild=true rescans everything
+     */
+    @GetMapping("/retention")
+    public ResponseEntity<RetentionSummaryResponse> getRetention(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "false") boolean rebuild) {
+
+        User user = userDetailsService.getUserByEmail(userDetails.getUsername());
+        log.info("GET /api/v1/statistics/retention - userId: {}, rebuild: {}", user.getId(), rebuild);
+
+        RetentionSummaryResponse retention = retentionAnalyticsService.getRetentionSummary(user.getId(), rebuild);
+        return ResponseEntity.ok(retention);
+    }
+
+    /**
+     * Simulate the daily review load from the current card progress
+     * "What if I study N new cards a day for the next D days?"
+     */
+    @GetMapping("/workload-simulation")
+    public ResponseEntity<WorkloadSimulationResponse> simulateWorkload(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "20") int newCardsPerDay,
+            @RequestParam(defaultValue = "0.9") double recallRate,
+            @RequestParam(defaultValue = "32") int runs,
+            @RequestParam(required = false) Long seed) {
+
+        User user = userDetailsService.getUserByEmail(userDetails.getUsername());
+        log.info("GET /api/v1/statistics/workload-simulation - userId: {}, days: {}, newCardsPerDay: {}, recallRate: {}",
+                user.getId(), days, newCardsPerDay, recallRate);
+
+        WorkloadSimulationResponse simulation = workloadSimulatorService.simulate(
+                user.getId(), days, newCardsPerDay, recallRate, runs, seed);
+        return ResponseEntity.ok(simulation);
+    }
+
     /**
      * Get enhanced statistics summary with mastery levels and study time
      * Optional deckId parameter to filter statistics for a specific deck
@@ -69,64 +149,7 @@ public class StatisticsController {
         User user = userDetailsService.getUserByEmail(userDetails.getUsername());
         log.info("GET /api/v1/statistics/summary/enhanced - userId: {}, deckId: {}", user.getId(), deckId);
 
-        // Get mastery levels (filtered by deckId if provided)
-        MasteryLevelStatistics masteryLevels = deckId != null
-                ? statisticsService.getMasteryLevelStatisticsByDeck(user.getId(), deckId)
-                : statisticsService.getMasteryLevelStatistics(user.getId());
-
-        // Get study time statistics (filtered by deckId if provided)
-        Map<String, Long> timeStats = deckId != null
-                ? studySessionService.getStudyTimeStatisticsByDeck(user.getId(), deckId)
-                : studySessionService.getStudyTimeStatistics(user.getId());
-        Map<String, String> formattedTimes = new HashMap<>();
-        timeStats.forEach((key, seconds) -> {
-            formattedTimes.put(key, formatDuration(seconds));
-        });
-
-        // Get mode details (filtered by deckId if provided)
-        Map<String, ModeStatisticsDetail> modeDetails = studySessionService.getModeDetails(user.getId(), deckId);
-
-        StudyTimeStatisticsResponse studyTime = StudyTimeStatisticsResponse.builder()
-                .totalSeconds(timeStats.get("total"))
-                .timeByMode(timeStats)
-                .totalFormatted(formattedTimes.get("total"))
-                .timeByModeFormatted(formattedTimes)
-                .modeDetails(modeDetails)
-                .build();
-
-        // Build response
-        StatisticsSummaryResponse response = StatisticsSummaryResponse.builder()
-                .totalCards(masteryLevels.getTotal())
-                .masteryLevels(masteryLevels)
-                .studyTime(studyTime)
-                .build();
-
+        StatisticsSummaryResponse response = dashboardService.getEnhancedSummary(user.getId(), deckId);
         return ResponseEntity.ok(response);
     }
-
-    /**
-     * Format duration in seconds to human-readable string
-     */
-    private String formatDuration(Long seconds) {
-        if (seconds == null || seconds == 0) {
-            return "0s";
-        }
-
-        long hours = seconds / 3600;
-        long minutes = (seconds % 3600) / 60;
-        long secs = seconds % 60;
-
-        StringBuilder formatted = new StringBuilder();
-        if (hours > 0) {
-            formatted.append(hours).append("h ");
-        }
-        if (minutes > 0) {
-            formatted.append(minutes).append("m ");
-        }
-        if (secs > 0 || formatted.length() == 0) {
-            formatted.append(secs).append("s");
-        }
-
-        return formatted.toString().trim();
-    }
 }
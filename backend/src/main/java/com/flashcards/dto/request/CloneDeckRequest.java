@@ -0,0 +1,36 @@
+package com.flashcards.dto.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for cloning a deck
+ * All fields are optional
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CloneDeckRequest {
+
+    /**
+     * Title of the new deck (defaults to "<source title> (copy)")
+     */
+    @Size(max = 255, message = "Title must not exceed 255 characters")
+    private String title;
+
+    /**
+     * Copy card tags
+     */
+    @Builder.Default
+    private Boolean copyTags = true;
+
+    /**
+     * Copy media references (imageUrl, audioUrl)
+     */
+    @Builder.Default
+    private Boolean copyMedia = true;
+}
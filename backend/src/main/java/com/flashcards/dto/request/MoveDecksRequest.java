@@ -0,0 +1,30 @@
+package com.flashcards.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for moving several decks at once
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MoveDecksRequest {
+    
+    @NotEmpty(message = "At least one deck is required")
+    @Size(max = 1000, message = "Cannot move more than 1000 decks at once")
+    private List<UUID> deckIds;
+    
+    /**
+     * Target folder (null = move to uncategorized)
+     */
+    private UUID folderId;
+}
@@ -24,4 +24,10 @@ public class RegisterRequest {
     @NotBlank(message = "Password is required")
     @Size(min = 6, message = "Password must be at least 6 characters")
     private String password;
+
+    /**
+     * IANA time zone id used to bucket study days (optional, e.g. "Asia/Ho_Chi_Minh")
+     */
+    @Size(max = 64, message = "Time zone must not exceed 64 characters")
+    private String timeZone;
 }
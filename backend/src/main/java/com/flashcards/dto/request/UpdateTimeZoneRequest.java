@@ -0,0 +1,25 @@
+package com.flashcards.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for changing the user's time zone
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateTimeZoneRequest {
+
+    /**
+     * IANA time zone id (e.g. "Asia/Ho_Chi_Minh")
+     */
+    @NotBlank(message = "Time zone is required")
+    @Size(max = 64, message = "Time zone must not exceed 64 characters")
+    private String timeZone;
+}
@@ -19,6 +19,7 @@ public class AuthResponse {
     private String type = "Bearer";
     private String userId;
     private String email;
+    private String timeZone;
     private String message;
 
     /**
@@ -0,0 +1,25 @@
+package com.flashcards.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for set-based bulk operations
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResponse {
+    
+    // Number of distinct ids in the request
+    private Integer requestedCount;
+    
+    // Number of rows actually changed (ids not owned or already in place are skipped)
+    private Integer affectedCount;
+    
+    // Decks moved to uncategorized (folder deletion only)
+    private Integer unassignedDeckCount;
+}
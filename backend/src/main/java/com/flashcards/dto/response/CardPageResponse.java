@@ -0,0 +1,37 @@
+package com.flashcards.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for a keyset-paginated page of cards
+ * Each card only contains the fields requested via {@code fields=}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardPageResponse {
+
+    /**
+     * Cards in (position, id) order, keyed by field name
+     */
+    private List<Map<String, Object>> cards;
+
+    /**
+     * Cursor for the next page: pass as afterPosition/afterId
+     * Null when there are no more cards
+     */
+    private Integer nextAfterPosition;
+    private String nextAfterId;
+
+    /**
+     * Whether more cards exist after this page
+     */
+    private boolean hasMore;
+}
@@ -0,0 +1,34 @@
+package com.flashcards.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a keyset-paginated page of decks
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeckPageResponse {
+
+    /**
+     * Decks in the requested sort order
+     */
+    private List<DeckResponse> decks;
+
+    /**
+     * Opaque cursor for the next page: pass back as {@code cursor=}
+     * with the same sort, direction and filters. Null when there are no more decks
+     */
+    private String nextCursor;
+
+    /**
+     * Whether more decks exist after this page
+     */
+    private boolean hasMore;
+}
@@ -0,0 +1,44 @@
+package com.flashcards.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a deck's mastery progress bar
+ * Same buckets as MasteryLevelStatistics, without percentages
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeckProgressResponse {
+
+    private String deckId;
+
+    /**
+     * New cards (never studied)
+     */
+    private Integer newCards;
+
+    /**
+     * Still learning (LEARNING/RELEARNING, or REVIEWING with interval < 3 days)
+     */
+    private Integer stillLearning;
+
+    /**
+     * Almost done (REVIEWING with interval 3-20 days)
+     */
+    private Integer almostDone;
+
+    /**
+     * Mastered (interval >= 21 days)
+     */
+    private Integer mastered;
+
+    /**
+     * Total cards
+     */
+    private Integer total;
+}
@@ -28,4 +28,9 @@ public class DeckResponse {
     private Instant createdAt;
     private Instant updatedAt;
     private Instant lastViewedAt;
+
+    /**
+     * Mastery progress bar (populated by list endpoints)
+     */
+    private DeckProgressResponse progress;
 }
@@ -0,0 +1,48 @@
+package com.flashcards.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Response DTO for the study heatmap
+ * Dense arrays with one entry per day: index i is {@code from + i days}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeatmapResponse {
+
+    /**
+     * First day (inclusive)
+     */
+    private LocalDate from;
+
+    /**
+     * Last day (inclusive)
+     */
+    private LocalDate to;
+
+    /**
+     * Time zone used for day boundaries
+     */
+    private String timeZone;
+
+    /**
+     * Reviews per day
+     */
+    private int[] counts;
+
+    /**
+     * Study time per day in milliseconds
+     */
+    private long[] timeSpentMs;
+
+    private long totalReviews;
+
+    private int activeDays;
+}
@@ -0,0 +1,25 @@
+package com.flashcards.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for the library screen
+ * Full folder tree (folders with their decks) plus uncategorized decks
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LibraryResponse {
+    
+    // Folders with decks populated
+    private List<FolderResponse> folders;
+    
+    // Decks not in any folder
+    private List<DeckResponse> uncategorizedDecks;
+}
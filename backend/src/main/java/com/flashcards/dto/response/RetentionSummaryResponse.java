@@ -0,0 +1,100 @@
+package com.flashcards.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for retention and forgetting-curve analytics
+ *
+ * A review is a recall attempt when the card's previous review was at least
+ * one day earlier (same-day learning steps are excluded). A lapse is an AGAIN
+ * answer to a card whose previous answer was a pass.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RetentionSummaryResponse {
+
+    /**
+     * All reviews processed
+     */
+    private long totalReviews;
+
+    /**
+     * Distinct cards reviewed
+     */
+    private long cardsReviewed;
+
+    /**
+     * Reviews counted as recall attempts
+     */
+    private long recallReviews;
+
+    /**
+     * Passed recall attempts / recall attempts (0-100), null without recall attempts
+     */
+    private Double trueRetentionRate;
+
+    private long lapses;
+
+    /**
+     * Lapses / cards reviewed
+     */
+    private Double lapsesPerCard;
+
+    /**
+     * Mean days since the previous review when a lapse happened
+     */
+    private Double averageIntervalAtLapseDays;
+
+    /**
+     * Forgetting curve per deck
+     */
+    private List<DeckForgettingCurve> decks;
+
+    /**
+     * Logs inserted up to this instant are included
+     */
+    private Instant processedUntil;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DeckForgettingCurve {
+        private UUID deckId;
+        private long recallReviews;
+        private List<CurvePoint> points;
+    }
+
+    /**
+     * Recall rate for reviews whose elapsed time falls in [minDays, maxDays)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CurvePoint {
+        private int minDays;
+
+        /**
+         * Exclusive upper bound, null for the last (open) bucket
+         */
+        private Integer maxDays;
+
+        private long reviews;
+        private long recalled;
+
+        /**
+         * recalled / reviews (0-100)
+         */
+        private Double retentionRate;
+    }
+}
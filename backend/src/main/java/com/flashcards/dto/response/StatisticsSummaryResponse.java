@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * Enhanced statistics summary response
  */
@@ -38,4 +40,9 @@ public class StatisticsSummaryResponse {
      * Study time statistics
      */
     private StudyTimeStatisticsResponse studyTime;
+
+    /**
+     * Sections that timed out or failed; their fields are null (partial result)
+     */
+    private List<String> unavailableSections;
 }
@@ -0,0 +1,64 @@
+package com.flashcards.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Response DTO for the workload simulator
+ * Per-day arrays: index i is {@code from + i days}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkloadSimulationResponse {
+
+    /**
+     * First simulated day (today in the user's time zone)
+     */
+    private LocalDate from;
+
+    private int days;
+    private int newCardsPerDay;
+    private double recallRate;
+    private int runs;
+
+    /**
+     * Studied cards in the snapshot
+     */
+    private int cardsInReview;
+
+    /**
+     * Unstudied cards available to introduce
+     */
+    private long newCardsAvailable;
+
+    /**
+     * Mean reviews per day across runs
+     */
+    private double[] meanReviews;
+
+    /**
+     * 90th percentile of reviews per day across runs
+     */
+    private int[] p90Reviews;
+
+    /**
+     * New cards studied per day
+     */
+    private int[] newCards;
+
+    /**
+     * Mean of meanReviews over the period
+     */
+    private double averageDailyReviews;
+
+    /**
+     * Highest mean daily review count
+     */
+    private double peakDailyReviews;
+}
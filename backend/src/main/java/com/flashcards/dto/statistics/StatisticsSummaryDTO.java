@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
 import java.util.Map;
 
 @Data
@@ -15,6 +16,8 @@ public class StatisticsSummaryDTO {
     
     private Integer streak; // Current study streak in days
     
+    private Integer longestStreak; // Longest study streak ever, in days
+    
     private Long totalCardsLearned; // Total unique cards studied
     
     private Long dueCardsCount; // Cards that need to be reviewed now
@@ -23,6 +26,8 @@ public class StatisticsSummaryDTO {
     
     private PieChartDataDTO pieChartData; // Card status distribution
     
+    private List<String> unavailableSections; // Sections that timed out or failed (null fields)
+    
     @Data
     @Builder
     @NoArgsConstructor
@@ -1,5 +1,6 @@
 package com.flashcards.model.entity;
 
+import com.flashcards.util.HtmlText;
 import io.hypersistence.utils.hibernate.type.array.ListArrayType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -20,7 +21,9 @@ import java.util.UUID;
  * Supports soft delete via deletedAt field
  */
 @Entity
-@Table(name = "cards")
+@Table(name = "cards", indexes = {
+        @Index(name = "idx_cards_deck_position_id", columnList = "deck_id, position, id")
+})
 @Where(clause = "deleted_at IS NULL")
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -41,6 +44,25 @@ public class Card extends BaseEntity {
     @Column(columnDefinition = "TEXT")
     private String example;
 
+    /**
+     * Plain-text copy of term (HTML stripped), derived on every write
+     * Used by search, export and validation so HTML is never re-stripped on read
+     */
+    @Column(name = "term_text", columnDefinition = "TEXT")
+    private String termText;
+
+    /**
+     * Plain-text copy of definition (HTML stripped), derived on every write
+     */
+    @Column(name = "definition_text", columnDefinition = "TEXT")
+    private String definitionText;
+
+    /**
+     * Plain-text copy of example (HTML stripped), derived on every write
+     */
+    @Column(name = "example_text", columnDefinition = "TEXT")
+    private String exampleText;
+
     @Column(name = "image_url", columnDefinition = "TEXT")
     private String imageUrl;
 
@@ -65,4 +87,16 @@ public class Card extends BaseEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "deck_id", insertable = false, updatable = false)
     private Deck deck;
+
+    /**
+     * Derive plain-text columns from the HTML fields
+     * Called automatically by JPA; bulk JDBC inserts call it explicitly
+     */
+    @PrePersist
+    @PreUpdate
+    public void refreshPlainText() {
+        this.termText = HtmlText.extract(term);
+        this.definitionText = HtmlText.extract(definition);
+        this.exampleText = HtmlText.extract(example);
+    }
 }
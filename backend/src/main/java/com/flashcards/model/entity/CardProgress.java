@@ -20,6 +20,8 @@ import java.util.UUID;
 @Entity
 @Table(name = "card_progress", uniqueConstraints = {
     @UniqueConstraint(name = "uq_user_card", columnNames = {"user_id", "card_id"})
+}, indexes = {
+    @Index(name = "idx_card_progress_user_next_review", columnList = "user_id, next_review")
 })
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -17,9 +17,17 @@ import java.util.UUID;
  * Represents a collection of flashcards
  * Extends BaseEntity for UUID primary key and audit fields
  * Supports soft delete via deletedAt field
+ *
+ * Listing indexes mirror V14; JPA can't declare the partial "deleted_at IS NULL"
+ * predicate or NULLS LAST, so ddl-auto schemas get the full-table equivalents
  */
 @Entity
-@Table(name = "decks")
+@Table(name = "decks", indexes = {
+        @Index(name = "idx_decks_user_last_viewed_id", columnList = "user_id, last_viewed_at desc, id desc"),
+        @Index(name = "idx_decks_user_updated_id", columnList = "user_id, updated_at, id"),
+        @Index(name = "idx_decks_user_title_id", columnList = "user_id, (lower(title)), id"),
+        @Index(name = "idx_decks_user_card_count_id", columnList = "user_id, card_count, id")
+})
 @Where(clause = "deleted_at IS NULL")
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -51,6 +59,14 @@ public class Deck extends BaseEntity {
     @Column(name = "last_viewed_at")
     private Instant lastViewedAt;
 
+    /**
+     * Denormalized number of non-deleted cards
+     * Maintained by atomic UPDATEs in DeckRepository (never written by entity saves)
+     */
+    @Column(name = "card_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer cardCount = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", insertable = false, updatable = false)
     private User user;
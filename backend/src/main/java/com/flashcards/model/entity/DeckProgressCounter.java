@@ -0,0 +1,50 @@
+package com.flashcards.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Deck Progress Counter Entity
+ * Materialized mastery-level counts per (user, deck) for deck progress bars
+ * Rows are upserted with atomic deltas by DeckProgressCounterRepository;
+ * CounterRepairService recomputes them from cards + card_progress
+ */
+@Entity
+@Table(name = "deck_progress_counters", uniqueConstraints = {
+    @UniqueConstraint(name = "uq_deck_progress_user_deck", columnNames = {"user_id", "deck_id"})
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeckProgressCounter extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false, columnDefinition = "uuid")
+    private UUID userId;
+
+    @Column(name = "deck_id", nullable = false, columnDefinition = "uuid")
+    private UUID deckId;
+
+    @Column(name = "new_count", nullable = false)
+    @Builder.Default
+    private Integer newCount = 0;
+
+    @Column(name = "learning_count", nullable = false)
+    @Builder.Default
+    private Integer learningCount = 0;
+
+    @Column(name = "almost_done_count", nullable = false)
+    @Builder.Default
+    private Integer almostDoneCount = 0;
+
+    @Column(name = "mastered_count", nullable = false)
+    @Builder.Default
+    private Integer masteredCount = 0;
+}
@@ -39,6 +39,14 @@ public class Folder extends BaseEntity {
     @Column(name = "last_viewed_at")
     private Instant lastViewedAt;
     
+    /**
+     * Denormalized number of non-deleted decks in this folder
+     * Maintained by atomic UPDATEs in FolderRepository (never written by entity saves)
+     */
+    @Column(name = "deck_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer deckCount = 0;
+    
     // One-to-Many relationship with Deck
     @OneToMany(mappedBy = "folder", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Deck> decks;
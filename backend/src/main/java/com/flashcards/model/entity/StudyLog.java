@@ -15,9 +15,17 @@ import java.util.UUID;
  * Study Log Entity
  * Records every review session for analytics and progress tracking
  * Extends BaseEntity for UUID primary key and audit fields
+ *
+ * In PostgreSQL the table is range-partitioned by month on reviewed_at (V20),
+ * with primary key (id, reviewed_at). Queries should bound reviewed_at so only
+ * the matching partitions are scanned; months past the retention window are
+ * archived by StudyLogArchiveService.
  */
 @Entity
-@Table(name = "study_log")
+@Table(name = "study_log", indexes = {
+        @Index(name = "idx_study_log_user_reviewed", columnList = "user_id, reviewed_at"),
+        @Index(name = "idx_study_log_user_card_reviewed", columnList = "user_id, card_id, reviewed_at")
+})
 @Data
 @EqualsAndHashCode(callSuper = true)
 @Builder
@@ -26,4 +26,11 @@ public class User extends BaseEntity {
 
     @Column(name = "password_hash", nullable = false, columnDefinition = "TEXT")
     private String passwordHash;
+
+    /**
+     * IANA time zone id (e.g. Asia/Ho_Chi_Minh) used to bucket study days
+     * Null = app.default-time-zone
+     */
+    @Column(name = "time_zone", length = 64)
+    private String timeZone;
 }
@@ -0,0 +1,42 @@
+package com.flashcards.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * User Daily Activity Entity
+ * Rollup of a user's study logs per calendar day (review count, time spent)
+ * Upserted on every review / study log ingest; read by streak and heatmap
+ */
+@Entity
+@Table(name = "user_daily_activity", uniqueConstraints = {
+    @UniqueConstraint(name = "uq_user_daily_activity", columnNames = {"user_id", "activity_date"})
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDailyActivity extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false, columnDefinition = "uuid")
+    private UUID userId;
+
+    @Column(name = "activity_date", nullable = false)
+    private LocalDate activityDate;
+
+    @Column(name = "review_count", nullable = false)
+    @Builder.Default
+    private Integer reviewCount = 0;
+
+    @Column(name = "time_spent_ms", nullable = false)
+    @Builder.Default
+    private Long timeSpentMs = 0L;
+}
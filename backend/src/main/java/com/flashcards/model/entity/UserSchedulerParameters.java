@@ -0,0 +1,68 @@
+package com.flashcards.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * User Scheduler Parameters Entity
+ * Per-user SM-2 parameters fitted from review history by the nightly optimizer
+ * A row holding the defaults means the history was too short, or the fit did not
+ * beat the defaults; fittedAt prevents refitting until new reviews arrive
+ */
+@Entity
+@Table(name = "user_scheduler_parameters", uniqueConstraints = {
+    @UniqueConstraint(name = "uq_user_scheduler_parameters_user", columnNames = {"user_id"})
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSchedulerParameters extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false, columnDefinition = "uuid")
+    private UUID userId;
+
+    @Column(name = "again_ease_delta", nullable = false)
+    private Float againEaseDelta;
+
+    @Column(name = "hard_ease_delta", nullable = false)
+    private Float hardEaseDelta;
+
+    @Column(name = "easy_ease_delta", nullable = false)
+    private Float easyEaseDelta;
+
+    @Column(name = "min_ease_factor", nullable = false)
+    private Float minEaseFactor;
+
+    @Column(name = "hard_interval_multiplier", nullable = false)
+    private Double hardIntervalMultiplier;
+
+    @Column(name = "easy_bonus", nullable = false)
+    private Double easyBonus;
+
+    /**
+     * Recall reviews (at least a day after the previous one) the fit was scored on
+     */
+    @Column(name = "recall_reviews", nullable = false)
+    private Integer recallReviews;
+
+    /**
+     * Mean log loss of the stored parameters and of the SM-2 defaults (null if not fitted)
+     */
+    @Column(name = "log_loss")
+    private Double logLoss;
+
+    @Column(name = "default_log_loss")
+    private Double defaultLogLoss;
+
+    @Column(name = "fitted_at", nullable = false)
+    private Instant fittedAt;
+}
@@ -0,0 +1,43 @@
+package com.flashcards.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * User Streak Entity
+ * Stored current / longest study streak, updated incrementally per active day
+ * currentStreak is the run ending at lastActiveDate; it is only "live"
+ * while lastActiveDate is today or yesterday
+ */
+@Entity
+@Table(name = "user_streaks", uniqueConstraints = {
+    @UniqueConstraint(name = "uq_user_streaks_user", columnNames = {"user_id"})
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStreak extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false, columnDefinition = "uuid")
+    private UUID userId;
+
+    @Column(name = "current_streak", nullable = false)
+    @Builder.Default
+    private Integer currentStreak = 0;
+
+    @Column(name = "longest_streak", nullable = false)
+    @Builder.Default
+    private Integer longestStreak = 0;
+
+    @Column(name = "last_active_date")
+    private LocalDate lastActiveDate;
+}
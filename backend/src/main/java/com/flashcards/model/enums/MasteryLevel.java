@@ -0,0 +1,53 @@
+package com.flashcards.model.enums;
+
+/**
+ * Mastery Level of a card for the deck progress bar
+ * Derived from the card's learning state and review interval
+ */
+public enum MasteryLevel {
+    /**
+     * Never studied (no progress or NEW state)
+     */
+    NEW,
+    
+    /**
+     * Learning, relearning, or reviewing with interval < 3 days
+     */
+    STILL_LEARNING,
+    
+    /**
+     * Reviewing with interval 3-20 days
+     */
+    ALMOST_DONE,
+    
+    /**
+     * Reviewing with interval >= 21 days
+     */
+    MASTERED;
+
+    public static final int ALMOST_DONE_MIN_INTERVAL = 3;
+    public static final int MASTERED_MIN_INTERVAL = 21;
+
+    /**
+     * Classify a card by its progress
+     *
+     * @param state Learning state (null = no progress yet)
+     * @param interval Review interval in days (nullable)
+     * @return Mastery level
+     */
+    public static MasteryLevel of(LearningState state, Integer interval) {
+        if (state == null || state == LearningState.NEW) {
+            return NEW;
+        }
+        if (state != LearningState.REVIEWING) {
+            return STILL_LEARNING;
+        }
+        if (interval != null && interval >= MASTERED_MIN_INTERVAL) {
+            return MASTERED;
+        }
+        if (interval != null && interval >= ALMOST_DONE_MIN_INTERVAL) {
+            return ALMOST_DONE;
+        }
+        return STILL_LEARNING;
+    }
+}
@@ -0,0 +1,43 @@
+package com.flashcards.model.enums;
+
+/**
+ * Search modes for the {@code mode=} parameter of global search
+ */
+public enum SearchMode {
+    /**
+     * Ranked full-text search on whole words and word prefixes (default)
+     */
+    FULL_TEXT("fulltext"),
+
+    /**
+     * Trigram search: tolerates typos and matches any substring
+     */
+    FUZZY("fuzzy");
+
+    private final String key;
+
+    SearchMode(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Parse the {@code mode=} parameter; null or blank means full-text
+     *
+     * @throws IllegalArgumentException for unknown modes
+     */
+    public static SearchMode parse(String mode) {
+        if (mode == null || mode.isBlank()) {
+            return FULL_TEXT;
+        }
+        for (SearchMode value : values()) {
+            if (value.key.equalsIgnoreCase(mode.trim())) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unknown search mode: " + mode);
+    }
+}
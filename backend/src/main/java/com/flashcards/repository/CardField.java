@@ -0,0 +1,84 @@
+package com.flashcards.repository;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Card fields selectable through the {@code fields=} projection parameter
+ * Each constant maps a response key to its JPQL path, so projection queries
+ * only read the requested columns instead of hydrating Card entities
+ */
+public enum CardField {
+    ID("id", "c.id"),
+    DECK_ID("deckId", "c.deckId"),
+    TERM("term", "c.term"),
+    DEFINITION("definition", "c.definition"),
+    TERM_TEXT("termText", "c.termText"),
+    DEFINITION_TEXT("definitionText", "c.definitionText"),
+    EXAMPLE("example", "c.example"),
+    EXAMPLE_TEXT("exampleText", "c.exampleText"),
+    IMAGE_URL("imageUrl", "c.imageUrl"),
+    AUDIO_URL("audioUrl", "c.audioUrl"),
+    POSITION("position", "c.position"),
+    TAGS("tags", "c.tags"),
+    IS_STARRED("isStarred", "c.isStarred"),
+    CREATED_AT("createdAt", "c.createdAt"),
+    UPDATED_AT("updatedAt", "c.updatedAt"),
+
+    // Learning progress (requires joining card_progress)
+    LEARNING_STATE("learningState", "cp.learningState"),
+    NEXT_REVIEW("nextReview", "cp.nextReview"),
+    EASE_FACTOR("easeFactor", "cp.easeFactor"),
+    INTERVAL("interval", "cp.interval");
+
+    private final String key;
+    private final String path;
+
+    CardField(String key, String path) {
+        this.key = key;
+        this.path = path;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public boolean isProgressField() {
+        return path.startsWith("cp.");
+    }
+
+    /**
+     * Parse a comma-separated field list (e.g. "id,term,position")
+     * Null or blank means all fields
+     *
+     * @throws IllegalArgumentException for unknown field names
+     */
+    public static Set<CardField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(CardField.class);
+        }
+
+        Set<CardField> result = EnumSet.noneOf(CardField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            result.add(fromKey(trimmed));
+        }
+        return result;
+    }
+
+    private static CardField fromKey(String key) {
+        for (CardField field : values()) {
+            if (field.key.equalsIgnoreCase(key)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown card field: " + key);
+    }
+}
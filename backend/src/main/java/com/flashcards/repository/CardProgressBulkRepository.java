@@ -0,0 +1,117 @@
+package com.flashcards.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Card Progress Bulk Repository
+ * Set-based rescheduling of a user's card_progress rows: each operation is a
+ * single UPDATE ... FROM statement, so thousands of cards cost one round trip
+ *
+ * Only studied (non-NEW) progress of live cards in the user's live decks is
+ * touched; an optional deck id narrows the scope to one deck.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CardProgressBulkRepository {
+
+    private static final String OWNED_PROGRESS =
+            "FROM cards c JOIN decks d ON d.id = c.deck_id " +
+            "WHERE c.id = cp.card_id AND d.user_id = cp.user_id AND cp.user_id = ? " +
+            "AND c.deleted_at IS NULL AND d.deleted_at IS NULL AND cp.learning_state <> 'NEW'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Move every due card (next_review <= now or NULL) N days later, keeping their relative order
+     * A NULL next_review counts as due now, as in CardProgressRepository.findDueCards
+     *
+     * @return Number of cards postponed
+     */
+    public int postponeDue(UUID userId, UUID deckId, int days, Instant now) {
+        List<Object> params = new ArrayList<>();
+        OffsetDateTime start = timestamp(now);
+        params.add(start);
+        params.add(days);
+        params.add(userId);
+        StringBuilder sql = new StringBuilder("UPDATE card_progress cp SET ")
+                .append("next_review = COALESCE(cp.next_review, CAST(? AS timestamptz)) + make_interval(days => ?), ")
+                .append("updated_at = now() ")
+                .append(OWNED_PROGRESS)
+                .append(" AND COALESCE(cp.next_review, CAST(? AS timestamptz)) <= ?");
+        params.add(start);
+        params.add(start);
+        appendDeck(sql, params, deckId);
+
+        return jdbcTemplate.update(sql.toString(), params.toArray());
+    }
+
+    /**
+     * Spread overdue cards (next_review < now or NULL) evenly over the next N days
+     * Load-balancing formula: cards are ranked most overdue first (rank r of total n,
+     * 0-based) and card r goes to day floor(r * N / n), so every day gets n/N cards
+     * (+-1) and the most overdue cards come first; day 0 is due right away
+     *
+     * @return Number of cards rescheduled
+     */
+    public int spreadOverdue(UUID userId, UUID deckId, int days, Instant now) {
+        List<Object> params = new ArrayList<>();
+        OffsetDateTime start = timestamp(now);
+        params.add(start);
+        params.add(days);
+        params.add(userId);
+        StringBuilder sql = new StringBuilder("UPDATE card_progress cp SET ")
+                .append("next_review = CAST(? AS timestamptz) + make_interval(days => ")
+                .append("    CAST(FLOOR(r.rank * CAST(? AS bigint) / CAST(r.total AS numeric)) AS integer)), ")
+                .append("updated_at = now() ")
+                .append("FROM (SELECT p.id, ")
+                .append("    ROW_NUMBER() OVER (ORDER BY p.next_review NULLS FIRST, p.id) - 1 AS rank, ")
+                .append("    COUNT(*) OVER () AS total ")
+                .append("  FROM card_progress p JOIN cards c ON c.id = p.card_id JOIN decks d ON d.id = c.deck_id ")
+                .append("  WHERE d.user_id = p.user_id AND p.user_id = ? ")
+                .append("  AND c.deleted_at IS NULL AND d.deleted_at IS NULL AND p.learning_state <> 'NEW' ")
+                .append("  AND (p.next_review IS NULL OR p.next_review < ?)");
+        params.add(start);
+        appendDeck(sql, params, deckId);
+        sql.append(") r WHERE cp.id = r.id");
+
+        return jdbcTemplate.update(sql.toString(), params.toArray());
+    }
+
+    /**
+     * Reset a deck's studied cards to NEW (SM-2 defaults, no next review)
+     *
+     * @return Number of cards reset
+     */
+    public int resetDeck(UUID userId, UUID deckId, float initialEaseFactor) {
+        List<Object> params = new ArrayList<>();
+        params.add(initialEaseFactor);
+        params.add(userId);
+        StringBuilder sql = new StringBuilder("UPDATE card_progress cp SET ")
+                .append("learning_state = 'NEW', \"interval\" = 0, repetitions = 0, ease_factor = ?, ")
+                .append("next_review = NULL, updated_at = now() ")
+                .append(OWNED_PROGRESS);
+        appendDeck(sql, params, deckId);
+
+        return jdbcTemplate.update(sql.toString(), params.toArray());
+    }
+
+    private static void appendDeck(StringBuilder sql, List<Object> params, UUID deckId) {
+        if (deckId != null) {
+            sql.append(" AND c.deck_id = ?");
+            params.add(deckId);
+        }
+    }
+
+    private static OffsetDateTime timestamp(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -77,6 +79,15 @@ public interface CardProgressRepository extends JpaRepository<CardProgress, UUID
      */
     Optional<CardProgress> findByUserIdAndCardId(UUID userId, UUID cardId);
 
+    /**
+     * Find progress records of a user for specific cards
+     *
+     * @param userId User ID
+     * @param cardIds Card IDs
+     * @return Progress records that exist (cards without progress are absent)
+     */
+    List<CardProgress> findAllByUserIdAndCardIdIn(UUID userId, Collection<UUID> cardIds);
+
     /**
      * Find all progress records for a user
      *
@@ -121,4 +132,47 @@ public interface CardProgressRepository extends JpaRepository<CardProgress, UUID
            "WHERE cp.userId = :userId " +
            "AND (cp.nextReview <= CURRENT_TIMESTAMP OR cp.nextReview IS NULL)")
     long countDueCards(@Param("userId") UUID userId);
+
+    /**
+     * Scheduling state of every studied (non-NEW) card of a user
+     * Projection only: no CardProgress entities are hydrated
+     *
+     * @param userId User ID
+     * @return One row per studied card
+     */
+    @Query("SELECT new com.flashcards.repository.ScheduleSnapshot(cp.nextReview, cp.interval, cp.easeFactor) " +
+           "FROM CardProgress cp " +
+           "INNER JOIN Card c ON cp.cardId = c.id " +
+           "INNER JOIN Deck d ON c.deckId = d.id " +
+           "WHERE cp.userId = :userId " +
+           "AND cp.learningState <> 'NEW'")
+    List<ScheduleSnapshot> findScheduleSnapshots(@Param("userId") UUID userId);
+
+    /**
+     * Due-day histogram of a user's cards in a time window
+     * Days are counted in the given zone, relative to the local day of :from.
+     * Reads card_progress only (index range scan), so progress of deleted
+     * cards is counted too; good enough for load balancing.
+     *
+     * @param userId User ID
+     * @param excludeCardId Card being rescheduled (not counted)
+     * @param from Window start (inclusive), also day 0 of the offsets
+     * @param to Window end (exclusive)
+     * @param zone Zone id for local days
+     * @return Rows of [day offset from :from (Integer), count (Long)]
+     */
+    @Query(value = "SELECT CAST(cp.next_review AT TIME ZONE :zone AS date) - " +
+                   "       CAST(CAST(:from AS timestamptz) AT TIME ZONE :zone AS date) AS day_offset, " +
+                   "       COUNT(*) " +
+                   "FROM card_progress cp " +
+                   "WHERE cp.user_id = CAST(:userId AS uuid) " +
+                   "AND cp.card_id <> CAST(:excludeCardId AS uuid) " +
+                   "AND cp.next_review >= :from AND cp.next_review < :to " +
+                   "GROUP BY day_offset",
+           nativeQuery = true)
+    List<Object[]> countDueByDay(@Param("userId") UUID userId,
+                                 @Param("excludeCardId") UUID excludeCardId,
+                                 @Param("from") Instant from,
+                                 @Param("to") Instant to,
+                                 @Param("zone") String zone);
 }
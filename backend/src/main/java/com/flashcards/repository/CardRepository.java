@@ -1,8 +1,10 @@
 package com.flashcards.repository;
 
 import com.flashcards.model.entity.Card;
+import com.flashcards.model.enums.MasteryLevel;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,7 +19,7 @@ import java.util.UUID;
  * Note: Soft delete is handled automatically by @Where clause in Entity
  */
 @Repository
-public interface CardRepository extends JpaRepository<Card, UUID> {
+public interface CardRepository extends JpaRepository<Card, UUID>, CardRepositoryCustom {
 
     /**
      * Find all cards in a deck with ownership verification
@@ -64,6 +66,16 @@ public interface CardRepository extends JpaRepository<Card, UUID> {
      */
     long countByDeckId(UUID deckId);
 
+    /**
+     * Get the highest card position in a deck
+     * Used to append new cards without loading the whole deck
+     *
+     * @param deckId Deck ID
+     * @return Max position, or null if the deck has no cards
+     */
+    @Query("SELECT MAX(c.position) FROM Card c WHERE c.deckId = :deckId")
+    Integer findMaxPositionByDeckId(@Param("deckId") UUID deckId);
+
     /**
      * Find cards by deck ID (no user verification)
      * Use only for internal operations
@@ -127,6 +139,8 @@ public interface CardRepository extends JpaRepository<Card, UUID> {
     
     /**
      * Search cards by term, definition, or example (case-insensitive)
+     * Matches the stored plain-text columns, so HTML markup is never matched
+     * Fallback for schemas without the full-text columns (see SearchRepository)
      * Security: Only returns cards from decks belonging to the specified user
      *
      * @param userId User ID who owns the decks
@@ -137,9 +151,9 @@ public interface CardRepository extends JpaRepository<Card, UUID> {
     @Query("SELECT c FROM Card c " +
            "INNER JOIN Deck d ON c.deckId = d.id " +
            "WHERE d.userId = :userId " +
-           "AND (LOWER(c.term) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(c.definition) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(c.example) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+           "AND (LOWER(c.termText) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(c.definitionText) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(c.exampleText) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
     List<Card> searchCards(@Param("userId") UUID userId, 
                            @Param("searchTerm") String searchTerm,
                            Pageable pageable);
@@ -154,9 +168,101 @@ public interface CardRepository extends JpaRepository<Card, UUID> {
     @Query("SELECT COUNT(c) FROM Card c " +
            "INNER JOIN Deck d ON c.deckId = d.id " +
            "WHERE d.userId = :userId " +
-           "AND (LOWER(c.term) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(c.definition) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "OR LOWER(c.example) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+           "AND (LOWER(c.termText) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(c.definitionText) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+           "OR LOWER(c.exampleText) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
     long countSearchCards(@Param("userId") UUID userId, 
                           @Param("searchTerm") String searchTerm);
+
+    /**
+     * Copy all cards of a deck into another deck with one INSERT ... SELECT
+     * Runs entirely in the database: no card rows travel to the application
+     * Each copy keeps its position and records the original in source_card_id
+     *
+     * New ids are time-ordered (UUIDv7 layout: millisecond timestamp in the first
+     * 48 bits of a random UUID, version nibble set to 7) so the copies append to
+     * the primary-key index like application-generated ids do
+     *
+     * @param sourceDeckId Deck to copy from (ownership must be verified by the caller)
+     * @param targetDeckId Deck to copy into
+     * @param copyTags Whether to copy tags
+     * @param copyMedia Whether to copy image and audio URLs
+     * @return Number of cards copied
+     */
+    @Modifying
+    @Query(value = "INSERT INTO cards (id, deck_id, term, definition, term_text, definition_text, example, example_text, " +
+                   "image_url, audio_url, position, tags, source_card_id, is_starred, created_at, updated_at) " +
+                   "SELECT CAST(encode(set_bit(set_bit(overlay(uuid_send(gen_random_uuid()) " +
+                   "placing substring(int8send(CAST(floor(extract(epoch FROM clock_timestamp()) * 1000) AS bigint)) FROM 3) " +
+                   "FROM 1 FOR 6), 52, 1), 53, 1), 'hex') AS uuid), " +
+                   "CAST(:targetDeckId AS uuid), c.term, c.definition, c.term_text, c.definition_text, c.example, c.example_text, " +
+                   "CASE WHEN CAST(:copyMedia AS boolean) THEN c.image_url END, " +
+                   "CASE WHEN CAST(:copyMedia AS boolean) THEN c.audio_url END, " +
+                   "c.position, " +
+                   "CASE WHEN CAST(:copyTags AS boolean) THEN c.tags END, " +
+                   "CAST(c.id AS varchar), false, now(), now() " +
+                   "FROM cards c " +
+                   "WHERE c.deck_id = CAST(:sourceDeckId AS uuid) AND c.deleted_at IS NULL " +
+                   "ORDER BY c.position, c.id",
+           nativeQuery = true)
+    int cloneCards(@Param("sourceDeckId") UUID sourceDeckId,
+                   @Param("targetDeckId") UUID targetDeckId,
+                   @Param("copyTags") boolean copyTags,
+                   @Param("copyMedia") boolean copyMedia);
+
+    /**
+     * Mastery buckets shared by the aggregate queries below
+     * Thresholds come from MasteryLevel so they stay in sync with the progress counters
+     */
+    String MASTERY_BUCKETS =
+            "COUNT(c.id), " +
+            "SUM(CASE WHEN c.id IS NOT NULL AND (cp.id IS NULL " +
+            "    OR cp.learningState = com.flashcards.model.enums.LearningState.NEW) THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN cp.learningState = com.flashcards.model.enums.LearningState.REVIEWING " +
+            "    AND cp.interval >= " + MasteryLevel.ALMOST_DONE_MIN_INTERVAL +
+            "    AND cp.interval < " + MasteryLevel.MASTERED_MIN_INTERVAL + " THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN cp.learningState = com.flashcards.model.enums.LearningState.REVIEWING " +
+            "    AND cp.interval >= " + MasteryLevel.MASTERED_MIN_INTERVAL + " THEN 1 ELSE 0 END)";
+
+    /**
+     * Mastery buckets over all of a user's cards in one aggregate query
+     *
+     * @param userId User ID (deck owner and progress owner)
+     * @return Account-wide counts (sums are null when the user has no cards)
+     */
+    @Query("SELECT new com.flashcards.repository.MasteryCounts(" + MASTERY_BUCKETS + ") " +
+           "FROM Card c " +
+           "INNER JOIN Deck d ON c.deckId = d.id AND d.deletedAt IS NULL " +
+           "LEFT JOIN CardProgress cp ON cp.cardId = c.id AND cp.userId = :userId " +
+           "WHERE d.userId = :userId")
+    MasteryCounts countMasteryByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Mastery buckets for one deck in one aggregate query
+     *
+     * @param userId User ID (deck owner and progress owner)
+     * @param deckId Deck ID
+     * @return Deck counts (sums are null when the deck has no cards or is not the user's)
+     */
+    @Query("SELECT new com.flashcards.repository.MasteryCounts(" + MASTERY_BUCKETS + ") " +
+           "FROM Card c " +
+           "INNER JOIN Deck d ON c.deckId = d.id AND d.deletedAt IS NULL " +
+           "LEFT JOIN CardProgress cp ON cp.cardId = c.id AND cp.userId = :userId " +
+           "WHERE d.userId = :userId AND d.id = :deckId")
+    MasteryCounts countMasteryByDeckId(@Param("userId") UUID userId, @Param("deckId") UUID deckId);
+
+    /**
+     * Mastery buckets for every deck of a user, grouped in one query
+     * Decks without cards are included with zero counts
+     *
+     * @param userId User ID (deck owner and progress owner)
+     * @return One row per deck
+     */
+    @Query("SELECT new com.flashcards.repository.MasteryCounts(d.id, " + MASTERY_BUCKETS + ") " +
+           "FROM Deck d " +
+           "LEFT JOIN Card c ON c.deckId = d.id AND c.deletedAt IS NULL " +
+           "LEFT JOIN CardProgress cp ON cp.cardId = c.id AND cp.userId = :userId " +
+           "WHERE d.userId = :userId " +
+           "GROUP BY d.id")
+    List<MasteryCounts> countMasteryGroupedByDeck(@Param("userId") UUID userId);
 }
@@ -0,0 +1,46 @@
+package com.flashcards.repository;
+
+import com.flashcards.model.entity.Card;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Custom Card Repository fragment
+ * Bulk write paths that bypass per-entity Hibernate persistence
+ */
+public interface CardRepositoryCustom {
+
+    /**
+     * Insert new cards with JDBC batching
+     * Cards must already carry their id, createdAt and updatedAt
+     * (ids are assigned by the caller, see TimeOrderedUuid)
+     * Rows are sent in batches, which the PostgreSQL driver rewrites into
+     * multi-row INSERT statements (reWriteBatchedInserts=true)
+     *
+     * @param cards Cards to insert
+     * @return Number of inserted rows
+     */
+    int batchInsert(List<Card> cards);
+
+    /**
+     * Keyset-paginated projection of a deck's cards ordered by (position, id)
+     * Selects only the requested columns; no Card entities are hydrated
+     * Auto-filters soft-deleted cards via @Where clause
+     *
+     * Tuple layout: [0] position, [1] id, then one element per requested
+     * field in CardField declaration order
+     *
+     * @param deckId Deck ID (ownership must be verified by the caller)
+     * @param userId User ID, used to join learning progress when requested
+     * @param afterPosition Position of the last row of the previous page (null for first page)
+     * @param afterId Id of the last row of the previous page (null for first page)
+     * @param fields Fields to select
+     * @param limit Max number of rows
+     * @return Projected rows
+     */
+    List<Tuple> findCardPage(UUID deckId, UUID userId, Integer afterPosition, UUID afterId,
+                             Set<CardField> fields, int limit);
+}
@@ -0,0 +1,121 @@
+package com.flashcards.repository;
+
+import com.flashcards.model.entity.Card;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Card Repository fragment implementation
+ * Uses JdbcTemplate, which joins the surrounding JPA transaction
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CardRepositoryCustomImpl implements CardRepositoryCustom {
+
+    /**
+     * Rows per JDBC batch; the driver rewrites each batch into multi-row INSERTs
+     */
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO cards (id, deck_id, term, definition, term_text, definition_text, example, example_text, " +
+            "image_url, audio_url, position, tags, source_card_id, is_starred, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int batchInsert(List<Card> cards) {
+        if (cards == null || cards.isEmpty()) {
+            return 0;
+        }
+
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_SQL, cards, BATCH_SIZE, (ps, card) -> {
+            // JPA lifecycle callbacks don't run for JDBC inserts
+            card.refreshPlainText();
+
+            ps.setObject(1, card.getId());
+            ps.setObject(2, card.getDeckId());
+            ps.setString(3, card.getTerm());
+            ps.setString(4, card.getDefinition());
+            ps.setString(5, card.getTermText());
+            ps.setString(6, card.getDefinitionText());
+            ps.setString(7, card.getExample());
+            ps.setString(8, card.getExampleText());
+            ps.setString(9, card.getImageUrl());
+            ps.setString(10, card.getAudioUrl());
+            ps.setInt(11, card.getPosition() != null ? card.getPosition() : 0);
+            if (card.getTags() != null) {
+                ps.setArray(12, ps.getConnection().createArrayOf("text", card.getTags().toArray()));
+            } else {
+                ps.setNull(12, Types.ARRAY);
+            }
+            ps.setString(13, card.getSourceCardId());
+            ps.setBoolean(14, card.getIsStarred() != null && card.getIsStarred());
+            ps.setObject(15, OffsetDateTime.ofInstant(card.getCreatedAt(), ZoneOffset.UTC));
+            ps.setObject(16, OffsetDateTime.ofInstant(card.getUpdatedAt(), ZoneOffset.UTC));
+        });
+
+        // Rewritten batches report SUCCESS_NO_INFO per row instead of a row count
+        int inserted = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                inserted += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+
+        log.debug("Batch inserted {} cards in {} batches", inserted, results.length);
+        return inserted;
+    }
+
+    @Override
+    public List<Tuple> findCardPage(UUID deckId, UUID userId, Integer afterPosition, UUID afterId,
+                                    Set<CardField> fields, int limit) {
+        boolean joinProgress = fields.stream().anyMatch(CardField::isProgressField);
+
+        // Position and id are always selected: they form the keyset cursor
+        StringBuilder jpql = new StringBuilder("SELECT c.position, c.id");
+        for (CardField field : fields) {
+            jpql.append(", ").append(field.getPath());
+        }
+        jpql.append(" FROM Card c");
+        if (joinProgress) {
+            jpql.append(" LEFT JOIN CardProgress cp ON cp.cardId = c.id AND cp.userId = :userId");
+        }
+        jpql.append(" WHERE c.deckId = :deckId");
+        if (afterPosition != null) {
+            // Row comparison: a single range of the (deck_id, position, id) index
+            jpql.append(" AND (c.position, c.id) > (:afterPosition, :afterId)");
+        }
+        jpql.append(" ORDER BY c.position ASC, c.id ASC");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setParameter("deckId", deckId)
+                .setMaxResults(limit);
+        if (joinProgress) {
+            query.setParameter("userId", userId);
+        }
+        if (afterPosition != null) {
+            query.setParameter("afterPosition", afterPosition);
+            query.setParameter("afterId", afterId);
+        }
+
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.flashcards.repository;
+
+import com.flashcards.model.entity.DeckProgressCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deck Progress Counter Repository
+ * Materialized per-(user, deck) mastery counts
+ */
+@Repository
+public interface DeckProgressCounterRepository extends JpaRepository<DeckProgressCounter, UUID> {
+
+    /**
+     * All counters of a user (one row per deck that has had cards)
+     */
+    List<DeckProgressCounter> findAllByUserId(UUID userId);
+
+    /**
+     * Counters of a user for specific decks
+     */
+    List<DeckProgressCounter> findAllByUserIdAndDeckIdIn(UUID userId, Collection<UUID> deckIds);
+
+    /**
+     * Atomically add deltas to a (user, deck) counter row, creating it if missing
+     * Counts never go below zero; drift is corrected by recomputeAll
+     *
+     * @return Number of rows inserted or updated
+     */
+    @Modifying
+    @Query(value = "INSERT INTO deck_progress_counters (id, user_id, deck_id, new_count, learning_count, " +
+                   "almost_done_count, mastered_count, created_at, updated_at) " +
+                   "VALUES (gen_random_uuid(), CAST(:userId AS uuid), CAST(:deckId AS uuid), " +
+                   "GREATEST(:newDelta, 0), GREATEST(:learningDelta, 0), " +
+                   "GREATEST(:almostDoneDelta, 0), GREATEST(:masteredDelta, 0), now(), now()) " +
+                   "ON CONFLICT (user_id, deck_id) DO UPDATE SET " +
+                   "new_count = GREATEST(deck_progress_counters.new_count + :newDelta, 0), " +
+                   "learning_count = GREATEST(deck_progress_counters.learning_count + :learningDelta, 0), " +
+                   "almost_done_count = GREATEST(deck_progress_counters.almost_done_count + :almostDoneDelta, 0), " +
+                   "mastered_count = GREATEST(deck_progress_counters.mastered_count + :masteredDelta, 0), " +
+                   "updated_at = now()",
+           nativeQuery = true)
+    int applyDelta(@Param("userId") UUID userId,
+                   @Param("deckId") UUID deckId,
+                   @Param("newDelta") int newDelta,
+                   @Param("learningDelta") int learningDelta,
+                   @Param("almostDoneDelta") int almostDoneDelta,
+                   @Param("masteredDelta") int masteredDelta);
+
+    /**
+     * Recompute every deck owner's counters from cards and card_progress in one statement
+     * Same classification as MasteryLevel.of; only rows whose counts differ are written
+     *
+     * @return Number of rows inserted or corrected
+     */
+    @Modifying
+    @Query(value = "INSERT INTO deck_progress_counters (id, user_id, deck_id, new_count, learning_count, " +
+                   "almost_done_count, mastered_count, created_at, updated_at) " +
+                   "SELECT gen_random_uuid(), d.user_id, d.id, " +
+                   "COUNT(c.id) FILTER (WHERE cp.id IS NULL OR cp.learning_state = 'NEW'), " +
+                   "COUNT(c.id) FILTER (WHERE cp.learning_state IN ('LEARNING_MCQ', 'LEARNING_TYPING', 'RELEARNING') " +
+                   "    OR (cp.learning_state = 'REVIEWING' AND COALESCE(cp.interval, 0) < 3)), " +
+                   "COUNT(c.id) FILTER (WHERE cp.learning_state = 'REVIEWING' AND COALESCE(cp.interval, 0) >= 3 AND COALESCE(cp.interval, 0) < 21), " +
+                   "COUNT(c.id) FILTER (WHERE cp.learning_state = 'REVIEWING' AND COALESCE(cp.interval, 0) >= 21), " +
+                   "now(), now() " +
+                   "FROM decks d " +
+                   "LEFT JOIN cards c ON c.deck_id = d.id AND c.deleted_at IS NULL " +
+                   "LEFT JOIN card_progress cp ON cp.card_id = c.id AND cp.user_id = d.user_id " +
+                   "WHERE d.deleted_at IS NULL " +
+                   "GROUP BY d.user_id, d.id " +
+                   "ON CONFLICT (user_id, deck_id) DO UPDATE SET " +
+                   "new_count = EXCLUDED.new_count, learning_count = EXCLUDED.learning_count, " +
+                   "almost_done_count = EXCLUDED.almost_done_count, mastered_count = EXCLUDED.mastered_count, " +
+                   "updated_at = now() " +
+                   "WHERE (deck_progress_counters.new_count, deck_progress_counters.learning_count, " +
+                   "deck_progress_counters.almost_done_count, deck_progress_counters.mastered_count) " +
+                   "IS DISTINCT FROM (EXCLUDED.new_count, EXCLUDED.learning_count, " +
+                   "EXCLUDED.almost_done_count, EXCLUDED.mastered_count)",
+           nativeQuery = true)
+    int recomputeAll();
+
+    /**
+     * Move every card of a deck into the NEW bucket (after its progress was reset)
+     *
+     * @return Number of rows updated (0 or 1)
+     */
+    @Modifying
+    @Query(value = "UPDATE deck_progress_counters SET " +
+                   "new_count = new_count + learning_count + almost_done_count + mastered_count, " +
+                   "learning_count = 0, almost_done_count = 0, mastered_count = 0, updated_at = now() " +
+                   "WHERE user_id = CAST(:userId AS uuid) AND deck_id = CAST(:deckId AS uuid)",
+           nativeQuery = true)
+    int resetToNew(@Param("userId") UUID userId, @Param("deckId") UUID deckId);
+}
@@ -8,7 +8,6 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,7 +18,7 @@ import java.util.UUID;
  * Note: Soft delete is handled automatically by @Where clause in Entity
  */
 @Repository
-public interface DeckRepository extends JpaRepository<Deck, UUID> {
+public interface DeckRepository extends JpaRepository<Deck, UUID>, DeckRepositoryCustom {
 
     /**
      * Find all decks owned by a specific user
@@ -31,6 +30,15 @@ public interface DeckRepository extends JpaRepository<Deck, UUID> {
      */
     List<Deck> findAllByUserId(UUID userId);
 
+    /**
+     * Find all decks owned by a user, newest first
+     * Used to assemble the library tree in a single query
+     *
+     * @param userId User ID who owns the decks
+     * @return List of decks, empty if none found
+     */
+    List<Deck> findAllByUserIdOrderByCreatedAtDesc(UUID userId);
+
     /**
      * Find a specific deck by ID and verify ownership
      * Security: Ensures the deck belongs to the specified user
@@ -41,6 +49,15 @@ public interface DeckRepository extends JpaRepository<Deck, UUID> {
      */
     Optional<Deck> findByIdAndUserId(UUID id, UUID userId);
 
+    /**
+     * Check that a deck exists and belongs to the user
+     *
+     * @param id Deck ID
+     * @param userId User ID who should own the deck
+     * @return true if found (excluding soft-deleted)
+     */
+    boolean existsByIdAndUserId(UUID id, UUID userId);
+
     /**
      * Count total decks for a user
      *
@@ -70,6 +87,7 @@ public interface DeckRepository extends JpaRepository<Deck, UUID> {
     
     /**
      * Search decks by title or description (case-insensitive)
+     * Fallback for schemas without the full-text columns (see SearchRepository)
      * Security: Only returns decks belonging to the specified user
      *
      * @param userId User ID who owns the decks
@@ -98,19 +116,89 @@ public interface DeckRepository extends JpaRepository<Deck, UUID> {
                           @Param("searchTerm") String searchTerm);
     
     /**
-     * Update last viewed timestamp without triggering updatedAt
-     * Uses native query to avoid Hibernate's @UpdateTimestamp
+     * Atomically add delta to a deck's denormalized card count
      *
      * @param id Deck ID
+     * @param delta Number of cards added (positive) or removed (negative)
+     * @return Number of rows updated
+     */
+    @Modifying
+    @Query(value = "UPDATE decks SET card_count = GREATEST(card_count + :delta, 0) " +
+                   "WHERE id = CAST(:id AS uuid)",
+           nativeQuery = true)
+    int adjustCardCount(@Param("id") UUID id, @Param("delta") int delta);
+
+    /**
+     * Recompute card_count for every deck from the cards table
+     * Only rows whose stored count is wrong are written
+     *
+     * @return Number of decks whose count was corrected
+     */
+    @Modifying
+    @Query(value = "UPDATE decks d SET card_count = s.cnt " +
+                   "FROM (SELECT d2.id, COUNT(c.id) AS cnt FROM decks d2 " +
+                   "      LEFT JOIN cards c ON c.deck_id = d2.id AND c.deleted_at IS NULL " +
+                   "      GROUP BY d2.id) s " +
+                   "WHERE d.id = s.id AND d.card_count <> s.cnt",
+           nativeQuery = true)
+    int recomputeCardCounts();
+
+    /**
+     * Count the given decks grouped by their current folder
+     * Used to maintain folders.deck_count before a bulk move
+     *
+     * @param ids Deck IDs
+     * @param userId User ID (for security)
+     * @return Rows of [folderId (UUID), count (Long)]
+     */
+    @Query("SELECT d.folderId, COUNT(d) FROM Deck d " +
+           "WHERE d.id IN :ids AND d.userId = :userId AND d.folderId IS NOT NULL " +
+           "GROUP BY d.folderId")
+    List<Object[]> countByFolderForDecks(@Param("ids") List<UUID> ids, @Param("userId") UUID userId);
+
+    /**
+     * Move decks into a folder with one statement
+     * Decks not owned by the user, deleted, or already in the folder are skipped
+     * Bumps updated_at so the move is picked up by sync pull
+     *
+     * @param ids Deck IDs
+     * @param userId User ID (for security)
+     * @param folderId Target folder ID
+     * @return Number of decks moved
+     */
+    @Modifying
+    @Query(value = "UPDATE decks SET folder_id = CAST(:folderId AS uuid), updated_at = now() " +
+                   "WHERE id = ANY(:ids) AND user_id = CAST(:userId AS uuid) AND deleted_at IS NULL " +
+                   "AND folder_id IS DISTINCT FROM CAST(:folderId AS uuid)",
+           nativeQuery = true)
+    int moveDecksToFolder(@Param("ids") UUID[] ids,
+                          @Param("userId") UUID userId,
+                          @Param("folderId") UUID folderId);
+
+    /**
+     * Move decks to uncategorized with one statement
+     *
+     * @param ids Deck IDs
+     * @param userId User ID (for security)
+     * @return Number of decks that left a folder
+     */
+    @Modifying
+    @Query(value = "UPDATE decks SET folder_id = NULL, updated_at = now() " +
+                   "WHERE id = ANY(:ids) AND user_id = CAST(:userId AS uuid) AND deleted_at IS NULL " +
+                   "AND folder_id IS NOT NULL",
+           nativeQuery = true)
+    int unassignDecks(@Param("ids") UUID[] ids, @Param("userId") UUID userId);
+
+    /**
+     * Move every deck in the given folders to uncategorized with one statement
+     *
+     * @param folderIds Folder IDs
      * @param userId User ID (for security)
-     * @param lastViewedAt Timestamp to set
-     * @return Number of rows updated (should be 1 if successful)
+     * @return Number of decks unassigned
      */
     @Modifying
-    @Query(value = "UPDATE decks SET last_viewed_at = :lastViewedAt " +
-                   "WHERE id = CAST(:id AS uuid) AND user_id = CAST(:userId AS uuid) AND deleted_at IS NULL", 
+    @Query(value = "UPDATE decks SET folder_id = NULL, updated_at = now() " +
+                   "WHERE folder_id = ANY(:folderIds) AND user_id = CAST(:userId AS uuid) AND deleted_at IS NULL",
            nativeQuery = true)
-    int updateLastViewedAt(@Param("id") UUID id, 
-                           @Param("userId") UUID userId, 
-                           @Param("lastViewedAt") Instant lastViewedAt);
+    int unassignDecksFromFolders(@Param("folderIds") UUID[] folderIds, @Param("userId") UUID userId);
 }
@@ -0,0 +1,35 @@
+package com.flashcards.repository;
+
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Custom Deck Repository fragment
+ * Dynamic listing queries that derived queries can't express
+ */
+public interface DeckRepositoryCustom {
+
+    /**
+     * Keyset-paginated deck listing for one user
+     * Ordered by the sort expression, then id in the same direction
+     * (null sort values count as oldest: last when descending, first when ascending)
+     * Auto-filters soft-deleted decks via @Where clause
+     *
+     * Tuple layout: [0] Deck entity, [1] sort value (cursor)
+     *
+     * @param userId User ID who owns the decks
+     * @param folderId Only decks in this folder (null = any folder)
+     * @param uncategorized Only decks without a folder (ignored when folderId is set)
+     * @param titlePrefix Case-insensitive title prefix (null = no filter)
+     * @param sort Sort key
+     * @param descending Sort direction
+     * @param afterValue Sort value of the last row of the previous page (null = first page or null value)
+     * @param afterId Id of the last row of the previous page (null for first page)
+     * @param limit Max number of rows
+     * @return Decks with their sort values
+     */
+    List<Tuple> findDeckPage(UUID userId, UUID folderId, boolean uncategorized, String titlePrefix,
+                             DeckSort sort, boolean descending, Object afterValue, UUID afterId, int limit);
+}
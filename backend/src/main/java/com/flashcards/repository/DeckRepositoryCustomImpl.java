@@ -0,0 +1,96 @@
+package com.flashcards.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Deck Repository fragment implementation
+ */
+public class DeckRepositoryCustomImpl implements DeckRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findDeckPage(UUID userId, UUID folderId, boolean uncategorized, String titlePrefix,
+                                    DeckSort sort, boolean descending, Object afterValue, UUID afterId, int limit) {
+        String key = sort.getExpression();
+        String cmp = descending ? "<" : ">";
+        String dir = descending ? "DESC" : "ASC";
+
+        StringBuilder jpql = new StringBuilder("SELECT d, ").append(key)
+                .append(" FROM Deck d WHERE d.userId = :userId");
+        if (folderId != null) {
+            jpql.append(" AND d.folderId = :folderId");
+        } else if (uncategorized) {
+            jpql.append(" AND d.folderId IS NULL");
+        }
+        if (titlePrefix != null) {
+            jpql.append(" AND LOWER(d.title) LIKE :titlePrefix ESCAPE '!'");
+        }
+
+        if (!sort.isNullable()) {
+            // NOT NULL key: the row comparison is a single range of the (user_id, key, id) index,
+            // scanned forwards for ASC and backwards for DESC
+            if (afterId != null) {
+                if (afterValue == null) {
+                    throw new IllegalArgumentException("Invalid cursor for sort " + sort.getKey());
+                }
+                jpql.append(" AND (").append(key).append(", d.id) ").append(cmp).append(" (:afterValue, :afterId)");
+            }
+            jpql.append(" ORDER BY ").append(key).append(' ').append(dir).append(", d.id ").append(dir);
+        } else {
+            // Nullable key: null counts as oldest, so nulls come last in DESC and first in ASC.
+            // Both orders are scans of the (key DESC NULLS LAST, id DESC) index.
+            if (afterId != null) {
+                if (afterValue != null) {
+                    jpql.append(" AND (").append(key).append(' ').append(cmp).append(" :afterValue")
+                        .append(" OR (").append(key).append(" = :afterValue AND d.id ").append(cmp).append(" :afterId)");
+                    if (descending) {
+                        jpql.append(" OR ").append(key).append(" IS NULL");
+                    }
+                    jpql.append(')');
+                } else if (descending) {
+                    // Cursor is inside the trailing null block
+                    jpql.append(" AND ").append(key).append(" IS NULL AND d.id < :afterId");
+                } else {
+                    // Cursor is inside the leading null block
+                    jpql.append(" AND ((").append(key).append(" IS NULL AND d.id > :afterId) OR ")
+                        .append(key).append(" IS NOT NULL)");
+                }
+            }
+            jpql.append(" ORDER BY ").append(key).append(' ').append(dir)
+                .append(descending ? " NULLS LAST" : " NULLS FIRST")
+                .append(", d.id ").append(dir);
+        }
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class)
+                .setParameter("userId", userId)
+                .setMaxResults(limit);
+        if (folderId != null) {
+            query.setParameter("folderId", folderId);
+        }
+        if (titlePrefix != null) {
+            query.setParameter("titlePrefix", escapeLike(titlePrefix.toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+            if (afterValue != null) {
+                query.setParameter("afterValue", afterValue);
+            }
+        }
+
+        return query.getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        // '!' is the ESCAPE character (a backslash would need escaping in the JPQL literal itself)
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
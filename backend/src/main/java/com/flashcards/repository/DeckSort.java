@@ -0,0 +1,82 @@
+package com.flashcards.repository;
+
+import java.time.Instant;
+
+/**
+ * Sort keys for the paginated deck listing
+ * Each constant maps the {@code sort=} parameter to its JPQL expression and
+ * default direction. Every key is paired with d.id as a tie-breaker so the
+ * order is total and keyset cursors are stable.
+ */
+public enum DeckSort {
+    LAST_VIEWED_AT("lastViewedAt", "d.lastViewedAt", true, true),
+    UPDATED_AT("updatedAt", "d.updatedAt", true, false),
+    TITLE("title", "LOWER(d.title)", false, false),
+    CARD_COUNT("cardCount", "d.cardCount", true, false);
+
+    private final String key;
+    private final String expression;
+    private final boolean defaultDescending;
+    private final boolean nullable;
+
+    DeckSort(String key, String expression, boolean defaultDescending, boolean nullable) {
+        this.key = key;
+        this.expression = expression;
+        this.defaultDescending = defaultDescending;
+        this.nullable = nullable;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public boolean isDefaultDescending() {
+        return defaultDescending;
+    }
+
+    /**
+     * Whether the sort column can be null
+     * Null sorts as the oldest value: last when descending, first when ascending
+     */
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    /**
+     * Convert a cursor value back to the type the JPQL expression compares against
+     *
+     * @throws IllegalArgumentException if the value is malformed
+     */
+    public Object parseValue(String value) {
+        try {
+            return switch (this) {
+                case LAST_VIEWED_AT, UPDATED_AT -> Instant.parse(value);
+                case TITLE -> value;
+                case CARD_COUNT -> Integer.valueOf(value);
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor value for sort " + key);
+        }
+    }
+
+    /**
+     * Parse the {@code sort=} parameter; null or blank means lastViewedAt
+     *
+     * @throws IllegalArgumentException for unknown sort keys
+     */
+    public static DeckSort parse(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return LAST_VIEWED_AT;
+        }
+        for (DeckSort value : values()) {
+            if (value.key.equalsIgnoreCase(sort.trim())) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unknown deck sort: " + sort);
+    }
+}
@@ -7,7 +7,6 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -37,19 +36,44 @@ public interface FolderRepository extends JpaRepository<Folder, UUID> {
     Long countByUserId(UUID userId);
     
     /**
-     * Update last viewed timestamp without triggering updatedAt
-     * Uses native query to avoid Hibernate's @UpdateTimestamp
+     * Atomically add delta to a folder's denormalized deck count
      *
      * @param id Folder ID
+     * @param delta Number of decks added (positive) or removed (negative)
+     * @return Number of rows updated
+     */
+    @Modifying
+    @Query(value = "UPDATE folders SET deck_count = GREATEST(deck_count + :delta, 0) " +
+                   "WHERE id = CAST(:id AS uuid)",
+           nativeQuery = true)
+    int adjustDeckCount(@Param("id") UUID id, @Param("delta") int delta);
+    
+    /**
+     * Recompute deck_count for every folder from the decks table
+     * Only rows whose stored count is wrong are written
+     *
+     * @return Number of folders whose count was corrected
+     */
+    @Modifying
+    @Query(value = "UPDATE folders f SET deck_count = s.cnt " +
+                   "FROM (SELECT f2.id, COUNT(d.id) AS cnt FROM folders f2 " +
+                   "      LEFT JOIN decks d ON d.folder_id = f2.id AND d.deleted_at IS NULL " +
+                   "      GROUP BY f2.id) s " +
+                   "WHERE f.id = s.id AND f.deck_count <> s.cnt",
+           nativeQuery = true)
+    int recomputeDeckCounts();
+
+    /**
+     * Soft delete several folders with one statement
+     * Decks must be unassigned first (DeckRepository.unassignDecksFromFolders)
+     *
+     * @param ids Folder IDs
      * @param userId User ID (for security)
-     * @param lastViewedAt Timestamp to set
-     * @return Number of rows updated (should be 1 if successful)
+     * @return Number of folders deleted
      */
     @Modifying
-    @Query(value = "UPDATE folders SET last_viewed_at = :lastViewedAt " +
-                   "WHERE id = CAST(:id AS uuid) AND user_id = CAST(:userId AS uuid) AND deleted_at IS NULL", 
+    @Query(value = "UPDATE folders SET deleted_at = now(), updated_at = now(), deck_count = 0 " +
+                   "WHERE id = ANY(:ids) AND user_id = CAST(:userId AS uuid) AND deleted_at IS NULL",
            nativeQuery = true)
-    int updateLastViewedAt(@Param("id") UUID id, 
-                           @Param("userId") UUID userId, 
-                           @Param("lastViewedAt") Instant lastViewedAt);
+    int softDeleteByIds(@Param("ids") UUID[] ids, @Param("userId") UUID userId);
 }
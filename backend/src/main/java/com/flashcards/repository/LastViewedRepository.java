@@ -0,0 +1,89 @@
+package com.flashcards.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Last Viewed Repository
+ * Writes buffered last_viewed_at timestamps for decks and folders
+ * as one UPDATE ... FROM (VALUES ...) statement per chunk
+ */
+@Repository
+@RequiredArgsConstructor
+public class LastViewedRepository {
+
+    /**
+     * Rows per statement (3 bind parameters each, well below the 32767 limit)
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Tables with a last_viewed_at column
+     */
+    public enum Target {
+        DECK("decks"),
+        FOLDER("folders");
+
+        private final String table;
+
+        Target(String table) {
+            this.table = table;
+        }
+    }
+
+    /**
+     * One buffered view: entity id, owner (for security) and view time
+     */
+    public record View(UUID id, UUID userId, Instant viewedAt) {
+    }
+
+    /**
+     * Apply buffered views
+     * Rows not owned by the user, soft-deleted, or already newer are skipped
+     * Does not touch updated_at
+     *
+     * @param target Decks or folders
+     * @param views Latest view per (id, user)
+     * @return Number of rows updated
+     */
+    public int batchUpdateLastViewedAt(Target target, List<View> views) {
+        int updated = 0;
+        for (int from = 0; from < views.size(); from += CHUNK_SIZE) {
+            List<View> chunk = views.subList(from, Math.min(from + CHUNK_SIZE, views.size()));
+            updated += updateChunk(target, chunk);
+        }
+        return updated;
+    }
+
+    private int updateChunk(Target target, List<View> chunk) {
+        StringBuilder sql = new StringBuilder("UPDATE ")
+                .append(target.table)
+                .append(" t SET last_viewed_at = v.viewed_at FROM (VALUES ");
+        List<Object> params = new ArrayList<>(chunk.size() * 3);
+        for (int i = 0; i < chunk.size(); i++) {
+            View view = chunk.get(i);
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(CAST(? AS uuid), CAST(? AS uuid), CAST(? AS timestamptz))");
+            params.add(view.id());
+            params.add(view.userId());
+            params.add(OffsetDateTime.ofInstant(view.viewedAt(), ZoneOffset.UTC));
+        }
+        sql.append(") AS v(id, user_id, viewed_at) ")
+           .append("WHERE t.id = v.id AND t.user_id = v.user_id AND t.deleted_at IS NULL ")
+           .append("AND (t.last_viewed_at IS NULL OR t.last_viewed_at < v.viewed_at)");
+
+        return jdbcTemplate.update(sql.toString(), params.toArray());
+    }
+}
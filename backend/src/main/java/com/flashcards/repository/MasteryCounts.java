@@ -0,0 +1,28 @@
+package com.flashcards.repository;
+
+import java.util.UUID;
+
+/**
+ * Mastery bucket counts produced by a single aggregate query
+ * STILL_LEARNING is not selected: it is every card not in the other three buckets
+ *
+ * @param deckId Deck ID (null for account-wide counts)
+ * @param total Number of cards
+ * @param newCards Cards without progress or in NEW state
+ * @param almostDone REVIEWING with interval in [3, 21)
+ * @param mastered REVIEWING with interval >= 21
+ */
+public record MasteryCounts(UUID deckId, Long total, Long newCards, Long almostDone, Long mastered) {
+
+    public MasteryCounts(Long total, Long newCards, Long almostDone, Long mastered) {
+        this(null, total, newCards, almostDone, mastered);
+    }
+
+    public long stillLearning() {
+        return count(total) - count(newCards) - count(almostDone) - count(mastered);
+    }
+
+    public static long count(Long value) {
+        return value != null ? value : 0L;
+    }
+}
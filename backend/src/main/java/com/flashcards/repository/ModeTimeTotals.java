@@ -0,0 +1,18 @@
+package com.flashcards.repository;
+
+import com.flashcards.model.enums.StudyMode;
+
+import java.time.Instant;
+
+/**
+ * Study session totals for one mode, produced by a GROUP BY mode aggregate
+ *
+ * @param mode Study mode
+ * @param totalSeconds Sum of session durations
+ * @param cardsStudied Sum of cards studied (sessions without a count add 0)
+ * @param lastEndTime Latest session end time
+ * @param sessionCount Number of sessions
+ */
+public record ModeTimeTotals(StudyMode mode, Long totalSeconds, Long cardsStudied,
+                             Instant lastEndTime, Long sessionCount) {
+}
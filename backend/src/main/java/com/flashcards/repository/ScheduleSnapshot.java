@@ -0,0 +1,13 @@
+package com.flashcards.repository;
+
+import java.time.Instant;
+
+/**
+ * Scheduling state of one studied card, read for the workload simulator
+ *
+ * @param nextReview Next review time (null = due now)
+ * @param interval Current interval in days
+ * @param easeFactor Current ease factor
+ */
+public record ScheduleSnapshot(Instant nextReview, Integer interval, Float easeFactor) {
+}
@@ -0,0 +1,15 @@
+package com.flashcards.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of full-text search matches
+ *
+ * @param ids Matching ids, best rank first
+ * @param total Total number of matches (not only this page)
+ */
+public record SearchHits(List<UUID> ids, long total) {
+
+    public static final SearchHits EMPTY = new SearchHits(List.of(), 0L);
+}
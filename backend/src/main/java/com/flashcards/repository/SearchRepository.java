@@ -0,0 +1,193 @@
+package com.flashcards.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Search Repository
+ * PostgreSQL search over cards and decks, in two modes:
+ * - Full-text: generated search_vector columns (see V23). Queries use the
+ *   flashcards_search configuration ('simple' + unaccent), so matching ignores
+ *   case and diacritics; every word is a prefix match for search-as-you-type
+ *   and rows are ordered by ts_rank.
+ * - Fuzzy: pg_trgm GIN indexes on normalized text (see V24). A row matches when
+ *   it contains the query as a substring or its word similarity reaches the
+ *   threshold; rows are ordered by word similarity.
+ *
+ * The total comes from COUNT(*) OVER () of the same scan, so no separate count
+ * query is needed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SearchRepository {
+
+    /**
+     * Words of a query: letters (with combining marks) and digits
+     * Everything else is dropped, so user input never reaches tsquery syntax
+     */
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{M}\\p{N}]+");
+
+    private static final String CARD_SQL =
+            "SELECT c.id, COUNT(*) OVER () AS total " +
+            "FROM cards c JOIN decks d ON d.id = c.deck_id, " +
+            "     to_tsquery('flashcards_search', ?) q " +
+            "WHERE d.user_id = ? AND c.deleted_at IS NULL AND d.deleted_at IS NULL " +
+            "AND c.search_vector @@ q " +
+            "ORDER BY ts_rank(c.search_vector, q) DESC, c.id " +
+            "LIMIT ?";
+
+    private static final String DECK_SQL =
+            "SELECT d.id, COUNT(*) OVER () AS total " +
+            "FROM decks d, to_tsquery('flashcards_search', ?) q " +
+            "WHERE d.user_id = ? AND d.deleted_at IS NULL " +
+            "AND d.search_vector @@ q " +
+            "ORDER BY ts_rank(d.search_vector, q) DESC, d.id " +
+            "LIMIT ?";
+
+    private static final String FUZZY_CARD_SQL =
+            "SELECT c.id, COUNT(*) OVER () AS total " +
+            "FROM cards c JOIN decks d ON d.id = c.deck_id " +
+            "WHERE d.user_id = ? AND c.deleted_at IS NULL AND d.deleted_at IS NULL " +
+            "AND (c.search_text LIKE flashcards_normalize(?) ESCAPE '!' " +
+            "     OR flashcards_normalize(?) <% c.search_text) " +
+            "ORDER BY word_similarity(flashcards_normalize(?), c.search_text) DESC, c.id " +
+            "LIMIT ?";
+
+    private static final String FUZZY_DECK_SQL =
+            "SELECT d.id, COUNT(*) OVER () AS total " +
+            "FROM decks d " +
+            "WHERE d.user_id = ? AND d.deleted_at IS NULL " +
+            "AND (flashcards_normalize(d.title) LIKE flashcards_normalize(?) ESCAPE '!' " +
+            "     OR flashcards_normalize(?) <% flashcards_normalize(d.title)) " +
+            "ORDER BY word_similarity(flashcards_normalize(?), flashcards_normalize(d.title)) DESC, d.id " +
+            "LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * False when the search_vector columns are missing (e.g. ddl-auto schemas in development)
+     */
+    public boolean isFullTextAvailable() {
+        Integer columns = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name IN ('cards', 'decks') " +
+                "AND column_name = 'search_vector'",
+                Integer.class);
+        return columns != null && columns == 2;
+    }
+
+    /**
+     * False when the trigram column or normalize function is missing (e.g. ddl-auto schemas)
+     */
+    public boolean isTrigramAvailable() {
+        Boolean available = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM information_schema.columns " +
+                "               WHERE table_schema = current_schema() AND table_name = 'cards' " +
+                "               AND column_name = 'search_text') " +
+                "AND to_regprocedure('flashcards_normalize(text)') IS NOT NULL",
+                Boolean.class);
+        return Boolean.TRUE.equals(available);
+    }
+
+    /**
+     * Best-ranked cards of a user matching the query
+     *
+     * @param userId User ID who owns the decks
+     * @param tsQuery Query built by {@link #toPrefixQuery(String)}
+     * @param limit Max number of ids
+     */
+    public SearchHits searchCards(UUID userId, String tsQuery, int limit) {
+        return hits(CARD_SQL, tsQuery, userId, limit);
+    }
+
+    /**
+     * Best-ranked decks of a user matching the query
+     *
+     * @param userId User ID who owns the decks
+     * @param tsQuery Query built by {@link #toPrefixQuery(String)}
+     * @param limit Max number of ids
+     */
+    public SearchHits searchDecks(UUID userId, String tsQuery, int limit) {
+        return hits(DECK_SQL, tsQuery, userId, limit);
+    }
+
+    /**
+     * Cards of a user containing the text or similar to it, most similar first
+     * Must run inside a transaction: the threshold is set for the current transaction only
+     *
+     * @param userId User ID who owns the decks
+     * @param text User input
+     * @param threshold Minimum word similarity (0..1)
+     * @param limit Max number of ids
+     */
+    public SearchHits fuzzySearchCards(UUID userId, String text, double threshold, int limit) {
+        return fuzzySearch(FUZZY_CARD_SQL, userId, text, threshold, limit);
+    }
+
+    /**
+     * Decks of a user whose title contains the text or is similar to it, most similar first
+     * Must run inside a transaction: the threshold is set for the current transaction only
+     *
+     * @param userId User ID who owns the decks
+     * @param text User input
+     * @param threshold Minimum word similarity (0..1)
+     * @param limit Max number of ids
+     */
+    public SearchHits fuzzySearchDecks(UUID userId, String text, double threshold, int limit) {
+        return fuzzySearch(FUZZY_DECK_SQL, userId, text, threshold, limit);
+    }
+
+    /**
+     * Turn free text into a tsquery where every word is a prefix ("tie viet" -> "tie:* &amp; viet:*")
+     *
+     * @param text User input
+     * @return tsquery text, or null if the input has no words
+     */
+    public static String toPrefixQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        // Decomposed input (NFD) would split Vietnamese letters from their marks
+        Matcher words = WORD.matcher(Normalizer.normalize(text, Normalizer.Form.NFC));
+        StringBuilder query = new StringBuilder();
+        while (words.find()) {
+            if (query.length() > 0) {
+                query.append(" & ");
+            }
+            query.append(words.group()).append(":*");
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+
+    private SearchHits fuzzySearch(String sql, UUID userId, String text, double threshold, int limit) {
+        // <% compares against this setting; is_local = true scopes it to the transaction
+        jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)",
+                String.class, Double.toString(threshold));
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC);
+        String pattern = "%" + escapeLike(normalized) + "%";
+        return hits(sql, userId, pattern, normalized, normalized, limit);
+    }
+
+    private SearchHits hits(String sql, Object... params) {
+        List<UUID> ids = new ArrayList<>();
+        long[] total = {0L};
+        jdbcTemplate.query(sql, rs -> {
+            ids.add(rs.getObject(1, UUID.class));
+            total[0] = rs.getLong(2);
+        }, params);
+        return new SearchHits(ids, total[0]);
+    }
+
+    private static String escapeLike(String value) {
+        // '!' is the ESCAPE character, as in DeckRepositoryCustomImpl
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
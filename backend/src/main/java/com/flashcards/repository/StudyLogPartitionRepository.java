@@ -0,0 +1,201 @@
+package com.flashcards.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Study Log Partition Repository
+ * DDL and bulk reads for the monthly partitions of study_log (see V20)
+ *
+ * Partitions are named study_log_pYYYYMM and cover one UTC calendar month;
+ * study_log_default catches rows outside every monthly partition.
+ * Table names are built from YearMonth only, never from user input.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StudyLogPartitionRepository {
+
+    public static final String DEFAULT_PARTITION = "study_log_default";
+
+    /**
+     * Columns written to archive files, in order
+     */
+    public static final String EXPORT_COLUMNS =
+            "id, user_id, card_id, grade, action, time_taken_ms, reviewed_at, created_at, updated_at, deleted_at";
+
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("study_log_p(\\d{4})(\\d{2})");
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * False when study_log is a plain table (e.g. created by ddl-auto in development)
+     */
+    public boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt " +
+                "JOIN pg_class c ON c.oid = pt.partrelid " +
+                "WHERE c.relname = 'study_log' AND pg_table_is_visible(c.oid))",
+                Boolean.class);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /**
+     * Months that currently have an attached partition, oldest first
+     */
+    public List<YearMonth> findMonthlyPartitions() {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = 'study_log' AND pg_table_is_visible(p.oid) " +
+                "ORDER BY c.relname",
+                String.class);
+
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : names) {
+            Matcher matcher = MONTHLY_PARTITION.matcher(name);
+            if (matcher.matches()) {
+                months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+            }
+        }
+        return months;
+    }
+
+    public static String partitionName(YearMonth month) {
+        return "study_log_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * Create the partition for a month if missing
+     * PostgreSQL refuses to create a partition while study_log_default holds rows of
+     * its range, so those rows are first moved to a temporary staging table, then
+     * inserted back through study_log once the partition exists. study_log is locked
+     * for the rest of the transaction, so no row of the month can reach the default
+     * partition in between. Must run inside a transaction: on failure the rows stay
+     * where they were.
+     *
+     * @return Number of rows moved out of study_log_default
+     */
+    public int createMonthlyPartition(YearMonth month) {
+        String partition = partitionName(month);
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        if (Boolean.TRUE.equals(exists)) {
+            return 0;
+        }
+        // CREATE TABLE ... PARTITION OF takes this lock anyway; taking it first avoids
+        // a lock upgrade after the rows were moved
+        jdbcTemplate.execute("LOCK TABLE study_log IN ACCESS EXCLUSIVE MODE");
+
+        String staging = partition + "_staging";
+        jdbcTemplate.execute("CREATE TEMPORARY TABLE " + staging + " (LIKE study_log) ON COMMIT DROP");
+        int moved = jdbcTemplate.update(
+                "WITH moved AS (DELETE FROM " + DEFAULT_PARTITION +
+                " WHERE reviewed_at >= ? AND reviewed_at < ? RETURNING *) " +
+                "INSERT INTO " + staging + " SELECT * FROM moved",
+                start(month), start(month.plusMonths(1)));
+
+        jdbcTemplate.execute("CREATE TABLE " + partition +
+                " PARTITION OF study_log FOR VALUES FROM ('" + bound(month) + "') TO ('" +
+                bound(month.plusMonths(1)) + "')");
+        if (moved > 0) {
+            jdbcTemplate.update("INSERT INTO study_log SELECT * FROM " + staging);
+        }
+        jdbcTemplate.execute("DROP TABLE " + staging);
+        return moved;
+    }
+
+    /**
+     * Block writes to a partition until the end of the transaction
+     * Readers are not blocked
+     */
+    public void lockForArchive(YearMonth month) {
+        jdbcTemplate.execute("LOCK TABLE " + partitionName(month) + " IN SHARE MODE");
+    }
+
+    /**
+     * Stream every row of a monthly partition through a server-side cursor
+     * Must run inside a transaction (PostgreSQL ignores the fetch size with auto-commit)
+     *
+     * @return Number of rows streamed
+     */
+    public long streamPartition(YearMonth month, RowCallbackHandler handler) {
+        long[] rows = {0};
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "SELECT " + EXPORT_COLUMNS + " FROM " + partitionName(month) + " ORDER BY reviewed_at, id",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, (ResultSet rs) -> {
+            handler.processRow(rs);
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    /**
+     * Detach and drop a monthly partition (the data must have been exported)
+     */
+    public void detachAndDrop(YearMonth month) {
+        String partition = partitionName(month);
+        jdbcTemplate.execute("ALTER TABLE study_log DETACH PARTITION " + partition);
+        jdbcTemplate.execute("DROP TABLE " + partition);
+    }
+
+    /**
+     * Delete rows of the default partition reviewed before the cutoff, handing each
+     * deleted row to the handler (DELETE ... RETURNING, so nothing is lost between
+     * export and delete)
+     *
+     * @return Number of rows deleted
+     */
+    public long deleteDefaultRowsBefore(Instant cutoff, RowCallbackHandler handler) {
+        long[] rows = {0};
+        jdbcTemplate.query(
+                "DELETE FROM " + DEFAULT_PARTITION + " WHERE reviewed_at < ? RETURNING " + EXPORT_COLUMNS,
+                (ResultSet rs) -> {
+                    handler.processRow(rs);
+                    rows[0]++;
+                },
+                OffsetDateTime.ofInstant(cutoff, ZoneOffset.UTC));
+        return rows[0];
+    }
+
+    /**
+     * Total size of study_log (all partitions, indexes and TOAST) in bytes
+     */
+    public long totalSizeBytes() {
+        Long size = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(pg_total_relation_size(i.inhrelid)), 0) FROM pg_inherits i " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = 'study_log' AND pg_table_is_visible(p.oid)",
+                Long.class);
+        return size != null ? size : 0L;
+    }
+
+    private static OffsetDateTime start(YearMonth month) {
+        return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    private static String bound(YearMonth month) {
+        return month.atDay(1) + " 00:00:00+00";
+    }
+}
@@ -19,7 +19,7 @@ import java.util.UUID;
  * Tracks all study sessions for analytics and statistics
  */
 @Repository
-public interface StudyLogRepository extends JpaRepository<StudyLog, UUID> {
+public interface StudyLogRepository extends JpaRepository<StudyLog, UUID>, StudyLogRepositoryCustom {
 
     /**
      * Find all study logs for a specific user
@@ -142,4 +142,29 @@ public interface StudyLogRepository extends JpaRepository<StudyLog, UUID> {
      */
     @Query("SELECT sl FROM StudyLog sl WHERE sl.userId = :userId ORDER BY sl.reviewedAt DESC")
     List<StudyLog> findAllByUserIdOrderByReviewedAtDesc(@Param("userId") UUID userId);
+
+    /**
+     * Reviews and study time per local day, aggregated in the database
+     * Range scan on idx_study_log_user_reviewed; days without logs are absent
+     *
+     * @param userId User ID
+     * @param start Start instant (inclusive, start of the first local day)
+     * @param end End instant (exclusive, start of the day after the last)
+     * @param timeZone IANA time zone name for day boundaries
+     * @return Rows of [day (date), review count, time spent ms], oldest first
+     */
+    @Query(value = "SELECT CAST(date_trunc('day', sl.reviewed_at AT TIME ZONE :timeZone) AS date) AS day, " +
+                   "COUNT(*), COALESCE(SUM(sl.time_taken_ms), 0) " +
+                   "FROM study_log sl " +
+                   "WHERE sl.user_id = CAST(:userId AS uuid) " +
+                   "AND sl.reviewed_at >= :start AND sl.reviewed_at < :end " +
+                   "AND sl.deleted_at IS NULL " +
+                   "GROUP BY 1 ORDER BY 1",
+           nativeQuery = true)
+    List<Object[]> aggregateDailyActivity(
+        @Param("userId") UUID userId,
+        @Param("start") Instant start,
+        @Param("end") Instant end,
+        @Param("timeZone") String timeZone
+    );
 }
@@ -0,0 +1,63 @@
+package com.flashcards.repository;
+
+import com.flashcards.model.enums.Grade;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Custom Study Log Repository fragment
+ * Forward-only scans over the review history that never materialize entities
+ */
+public interface StudyLogRepositoryCustom {
+
+    /**
+     * Stream a user's reviews ordered by (card_id, reviewed_at) through a server-side cursor
+     * Rows are handed to the handler one at a time and not retained
+     *
+     * Selects logs inserted in (processedAfter, processedUntil], except the ids in
+     * processedIds. For an incremental scan (processedAfter != null) every card with
+     * new logs is preceded by its latest already-processed log as a seed row, so
+     * intervals can be measured across the checkpoint; a log counts as processed when
+     * it was inserted at or before processedAfter or its id is in processedIds.
+     * Logs of soft-deleted cards are skipped.
+     *
+     * Must run inside a transaction: PostgreSQL only honours the fetch size
+     * (and keeps the cursor open) with auto-commit off.
+     *
+     * @param userId User ID
+     * @param processedAfter Exclusive lower bound on created_at (null for a full scan)
+     * @param processedUntil Inclusive upper bound on created_at
+     * @param processedIds Logs inserted after processedAfter that were already streamed
+     * @param handler Row callback
+     * @return Number of rows streamed (seeds included)
+     */
+    long streamReviewHistory(UUID userId, Instant processedAfter, Instant processedUntil,
+                             Collection<UUID> processedIds, ReviewRowHandler handler);
+
+    /**
+     * Callback for one streamed review
+     */
+    @FunctionalInterface
+    interface ReviewRowHandler {
+
+        /**
+         * @param cardId Card ID
+         * @param deckId Deck the card currently belongs to
+         * @param grade Grade given
+         * @param reviewedAtMillis Review time (epoch millis)
+         * @param seed True for an already-processed log that only provides the previous review
+         */
+        void accept(UUID cardId, UUID deckId, Grade grade, long reviewedAtMillis, boolean seed);
+
+        /**
+         * Called before {@link #accept} for every row that is not a seed
+         *
+         * @param logId Study log ID
+         * @param createdAtMillis Insert time (epoch millis)
+         */
+        default void logStreamed(UUID logId, long createdAtMillis) {
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.flashcards.repository;
+
+import com.flashcards.model.enums.Grade;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Study Log Repository fragment implementation
+ * Uses JdbcTemplate, which joins the surrounding JPA transaction
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StudyLogRepositoryCustomImpl implements StudyLogRepositoryCustom {
+
+    /**
+     * Rows per round trip while the cursor is open
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String FULL_SQL =
+            "SELECT s.card_id, c.deck_id, s.grade, s.reviewed_at, FALSE AS seed, s.id, s.created_at " +
+            "FROM study_log s JOIN cards c ON c.id = s.card_id " +
+            "WHERE s.user_id = ? AND s.created_at <= ? " +
+            "AND s.deleted_at IS NULL AND c.deleted_at IS NULL " +
+            "ORDER BY s.card_id, s.reviewed_at";
+
+    private static final String INCREMENTAL_SQL =
+            "WITH fresh AS (" +
+            "  SELECT s.id, s.card_id, s.grade, s.reviewed_at, s.created_at FROM study_log s " +
+            "  WHERE s.user_id = ? AND s.created_at > ? AND s.created_at <= ? " +
+            "  AND s.id <> ALL (?) AND s.deleted_at IS NULL" +
+            "), seeds AS (" +
+            "  SELECT DISTINCT ON (p.card_id) p.card_id, p.grade, p.reviewed_at FROM study_log p " +
+            "  WHERE p.user_id = ? AND (p.created_at <= ? OR p.id = ANY (?)) AND p.deleted_at IS NULL " +
+            "  AND p.card_id IN (SELECT card_id FROM fresh) " +
+            "  ORDER BY p.card_id, p.reviewed_at DESC" +
+            ") " +
+            "SELECT r.card_id, c.deck_id, r.grade, r.reviewed_at, r.seed, r.id, r.created_at FROM (" +
+            "  SELECT card_id, grade, reviewed_at, FALSE AS seed, id, created_at FROM fresh " +
+            "  UNION ALL " +
+            "  SELECT card_id, grade, reviewed_at, TRUE AS seed, NULL, NULL FROM seeds" +
+            ") r JOIN cards c ON c.id = r.card_id " +
+            "WHERE c.deleted_at IS NULL " +
+            // A seed sorts before a new log reviewed at the same instant
+            "ORDER BY r.card_id, r.reviewed_at, r.seed DESC";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long streamReviewHistory(UUID userId, Instant processedAfter, Instant processedUntil,
+                                    Collection<UUID> processedIds, ReviewRowHandler handler) {
+        boolean incremental = processedAfter != null;
+        Timestamp until = Timestamp.from(processedUntil);
+        long[] rows = {0};
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(incremental ? INCREMENTAL_SQL : FULL_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, userId);
+            if (incremental) {
+                Timestamp after = Timestamp.from(processedAfter);
+                Array processed = con.createArrayOf("uuid", processedIds.toArray());
+                ps.setTimestamp(2, after);
+                ps.setTimestamp(3, until);
+                ps.setArray(4, processed);
+                ps.setObject(5, userId);
+                ps.setTimestamp(6, after);
+                ps.setArray(7, processed);
+            } else {
+                ps.setTimestamp(2, until);
+            }
+            return ps;
+        }, rs -> {
+            boolean seed = rs.getBoolean(5);
+            if (!seed) {
+                handler.logStreamed(rs.getObject(6, UUID.class), rs.getTimestamp(7).getTime());
+            }
+            handler.accept(
+                    rs.getObject(1, UUID.class),
+                    rs.getObject(2, UUID.class),
+                    Grade.valueOf(rs.getString(3)),
+                    rs.getTimestamp(4).getTime(),
+                    seed);
+            rows[0]++;
+        });
+
+        log.debug("Streamed {} review rows (incremental={}) for user {}", rows[0], incremental, userId);
+        return rows[0];
+    }
+}
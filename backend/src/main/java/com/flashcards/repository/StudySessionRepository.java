@@ -73,4 +73,21 @@ public interface StudySessionRepository extends JpaRepository<StudySession, UUID
      * Find sessions by user and mode
      */
     List<StudySession> findByUserIdAndModeOrderByStartTimeDesc(UUID userId, StudyMode mode);
+
+    /**
+     * Time, cards, last activity and session count per mode in one GROUP BY query
+     * Modes without sessions are absent
+     */
+    @Query("SELECT new com.flashcards.repository.ModeTimeTotals(s.mode, SUM(s.durationSeconds), " +
+           "SUM(COALESCE(s.cardsStudied, 0)), MAX(s.endTime), COUNT(s)) " +
+           "FROM StudySession s WHERE s.userId = :userId GROUP BY s.mode")
+    List<ModeTimeTotals> aggregateByMode(@Param("userId") UUID userId);
+
+    /**
+     * Per-mode totals for a specific deck in one GROUP BY query
+     */
+    @Query("SELECT new com.flashcards.repository.ModeTimeTotals(s.mode, SUM(s.durationSeconds), " +
+           "SUM(COALESCE(s.cardsStudied, 0)), MAX(s.endTime), COUNT(s)) " +
+           "FROM StudySession s WHERE s.userId = :userId AND s.deckId = :deckId GROUP BY s.mode")
+    List<ModeTimeTotals> aggregateByModeAndDeck(@Param("userId") UUID userId, @Param("deckId") UUID deckId);
 }
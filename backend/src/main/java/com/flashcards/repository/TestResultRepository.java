@@ -35,4 +35,18 @@ public interface TestResultRepository extends JpaRepository<TestResult, UUID> {
      * Count test results for a user and deck
      */
     Long countByUserIdAndDeckId(UUID userId, UUID deckId);
+
+    /**
+     * Average score and count of all test results for a user in one query
+     */
+    @Query("SELECT new com.flashcards.repository.TestResultTotals(AVG(t.score), COUNT(t)) " +
+           "FROM TestResult t WHERE t.userId = :userId")
+    TestResultTotals aggregateByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Average score and count of test results for a user and deck in one query
+     */
+    @Query("SELECT new com.flashcards.repository.TestResultTotals(AVG(t.score), COUNT(t)) " +
+           "FROM TestResult t WHERE t.userId = :userId AND t.deckId = :deckId")
+    TestResultTotals aggregateByUserIdAndDeckId(@Param("userId") UUID userId, @Param("deckId") UUID deckId);
 }
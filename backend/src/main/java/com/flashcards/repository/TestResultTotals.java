@@ -0,0 +1,10 @@
+package com.flashcards.repository;
+
+/**
+ * Test result aggregate (average score and number of results)
+ *
+ * @param averageScore Average score 0-100 (null when there are no results)
+ * @param count Number of test results
+ */
+public record TestResultTotals(Double averageScore, Long count) {
+}
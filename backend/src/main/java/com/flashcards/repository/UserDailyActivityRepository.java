@@ -0,0 +1,99 @@
+package com.flashcards.repository;
+
+import com.flashcards.model.entity.UserDailyActivity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * User Daily Activity Repository
+ * Per-day study rollup (one row per user and local day)
+ *
+ * Local days are computed in the database from users.time_zone
+ * (falling back to the :defaultZone parameter), so reads are plain
+ * (user_id, activity_date) index lookups
+ */
+@Repository
+public interface UserDailyActivityRepository extends JpaRepository<UserDailyActivity, UUID> {
+
+    /**
+     * Days with activity in a date range, oldest first
+     *
+     * @param userId User ID
+     * @param from First local day (inclusive)
+     * @param to Last local day (inclusive)
+     * @return Rollup rows (days without activity are absent)
+     */
+    List<UserDailyActivity> findAllByUserIdAndActivityDateBetweenOrderByActivityDateAsc(
+            UUID userId, LocalDate from, LocalDate to);
+
+    /**
+     * Add reviews and time to the user's local day of :at, creating the row if needed
+     *
+     * @return Number of rows inserted or updated
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_daily_activity (id, user_id, activity_date, review_count, time_spent_ms, " +
+                   "created_at, updated_at) " +
+                   "SELECT gen_random_uuid(), u.id, " +
+                   "       CAST(CAST(:at AS timestamptz) AT TIME ZONE COALESCE(u.time_zone, :defaultZone) AS date), " +
+                   "       :reviews, :timeSpentMs, now(), now() " +
+                   "FROM users u WHERE u.id = CAST(:userId AS uuid) " +
+                   "ON CONFLICT (user_id, activity_date) DO UPDATE SET " +
+                   "review_count = user_daily_activity.review_count + EXCLUDED.review_count, " +
+                   "time_spent_ms = user_daily_activity.time_spent_ms + EXCLUDED.time_spent_ms, " +
+                   "updated_at = now()",
+           nativeQuery = true)
+    int addActivity(@Param("userId") UUID userId,
+                    @Param("at") Instant at,
+                    @Param("reviews") int reviews,
+                    @Param("timeSpentMs") long timeSpentMs,
+                    @Param("defaultZone") String defaultZone);
+
+    /**
+     * Delete a user's rollup days after the local day of :since (before rebuilding them)
+     * Days up to and including that day are kept: their logs may already be archived
+     */
+    @Modifying
+    @Query(value = "DELETE FROM user_daily_activity d USING users u " +
+                   "WHERE u.id = d.user_id AND d.user_id = CAST(:userId AS uuid) " +
+                   "AND d.activity_date > CAST(CAST(:since AS timestamptz) AT TIME ZONE " +
+                   "    COALESCE(u.time_zone, :defaultZone) AS date)",
+           nativeQuery = true)
+    int deleteByUserAfterDayOf(@Param("userId") UUID userId,
+                               @Param("since") Instant since,
+                               @Param("defaultZone") String defaultZone);
+
+    /**
+     * Rebuild a user's rollup days after the local day of :since from study_log,
+     * in their current time zone
+     * One GROUP BY over the user's logs (partition-pruned on reviewed_at);
+     * run after deleteByUserAfterDayOf
+     *
+     * @return Number of day rows written
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_daily_activity (id, user_id, activity_date, review_count, time_spent_ms, " +
+                   "created_at, updated_at) " +
+                   "SELECT gen_random_uuid(), sl.user_id, " +
+                   "       CAST(sl.reviewed_at AT TIME ZONE COALESCE(u.time_zone, :defaultZone) AS date), " +
+                   "       COUNT(*), COALESCE(SUM(sl.time_taken_ms), 0), now(), now() " +
+                   "FROM study_log sl " +
+                   "JOIN users u ON u.id = sl.user_id " +
+                   "WHERE sl.user_id = CAST(:userId AS uuid) AND sl.deleted_at IS NULL " +
+                   "AND sl.reviewed_at >= :since " +
+                   "AND CAST(sl.reviewed_at AT TIME ZONE COALESCE(u.time_zone, :defaultZone) AS date) > " +
+                   "    CAST(CAST(:since AS timestamptz) AT TIME ZONE COALESCE(u.time_zone, :defaultZone) AS date) " +
+                   "GROUP BY sl.user_id, 3",
+           nativeQuery = true)
+    int rebuildFromStudyLog(@Param("userId") UUID userId,
+                            @Param("since") Instant since,
+                            @Param("defaultZone") String defaultZone);
+}
@@ -0,0 +1,38 @@
+package com.flashcards.repository;
+
+import com.flashcards.model.entity.UserSchedulerParameters;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * User Scheduler Parameters Repository
+ * Fitted per-user SM-2 parameters
+ */
+@Repository
+public interface UserSchedulerParametersRepository extends JpaRepository<UserSchedulerParameters, UUID> {
+
+    Optional<UserSchedulerParameters> findByUserId(UUID userId);
+
+    /**
+     * Users to (re)fit: enough reviews overall, and new reviews since their last fit
+     * Read from the daily rollup, so selecting candidates never scans study_log
+     * Never-fitted users come first, then the stalest fits
+     *
+     * @param minReviews Minimum total reviews
+     * @return User IDs
+     */
+    @Query(value = "SELECT a.user_id FROM user_daily_activity a " +
+                   "LEFT JOIN user_scheduler_parameters p ON p.user_id = a.user_id " +
+                   "GROUP BY a.user_id, p.fitted_at " +
+                   "HAVING SUM(a.review_count) >= :minReviews " +
+                   "AND (p.fitted_at IS NULL OR MAX(a.updated_at) > p.fitted_at) " +
+                   "ORDER BY p.fitted_at ASC NULLS FIRST",
+           nativeQuery = true)
+    List<UUID> findUsersToFit(@Param("minReviews") long minReviews);
+}
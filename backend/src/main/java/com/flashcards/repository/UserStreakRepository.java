@@ -0,0 +1,93 @@
+package com.flashcards.repository;
+
+import com.flashcards.model.entity.UserStreak;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * User Streak Repository
+ * Stored study streaks, maintained with atomic upserts
+ */
+@Repository
+public interface UserStreakRepository extends JpaRepository<UserStreak, UUID> {
+
+    Optional<UserStreak> findByUserId(UUID userId);
+
+    /**
+     * Current streak: the stored run if it ended today or yesterday in the user's time zone
+     *
+     * @param userId User ID
+     * @param defaultZone Zone for users without users.time_zone
+     * @return Current streak (0 when broken), null when the user has no streak row
+     */
+    @Query(value = "SELECT CASE WHEN s.last_active_date >= " +
+                   "    CAST(now() AT TIME ZONE COALESCE(u.time_zone, :defaultZone) AS date) - 1 " +
+                   "    THEN s.current_streak ELSE 0 END " +
+                   "FROM user_streaks s JOIN users u ON u.id = s.user_id " +
+                   "WHERE s.user_id = CAST(:userId AS uuid)",
+           nativeQuery = true)
+    Integer findCurrentStreak(@Param("userId") UUID userId, @Param("defaultZone") String defaultZone);
+
+    /**
+     * Extend the streak with the user's local day of :at
+     * - same day or earlier than lastActiveDate: unchanged (earlier days need recompute)
+     * - the day after lastActiveDate: current + 1
+     * - any later day: current restarts at 1
+     *
+     * @return Number of rows inserted or updated
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_streaks (id, user_id, current_streak, longest_streak, last_active_date, " +
+                   "created_at, updated_at) " +
+                   "SELECT gen_random_uuid(), u.id, 1, 1, " +
+                   "       CAST(CAST(:at AS timestamptz) AT TIME ZONE COALESCE(u.time_zone, :defaultZone) AS date), " +
+                   "       now(), now() " +
+                   "FROM users u WHERE u.id = CAST(:userId AS uuid) " +
+                   "ON CONFLICT (user_id) DO UPDATE SET " +
+                   "current_streak = CASE " +
+                   "    WHEN user_streaks.last_active_date >= EXCLUDED.last_active_date THEN user_streaks.current_streak " +
+                   "    WHEN user_streaks.last_active_date = EXCLUDED.last_active_date - 1 THEN user_streaks.current_streak + 1 " +
+                   "    ELSE 1 END, " +
+                   "longest_streak = GREATEST(user_streaks.longest_streak, CASE " +
+                   "    WHEN user_streaks.last_active_date >= EXCLUDED.last_active_date THEN user_streaks.current_streak " +
+                   "    WHEN user_streaks.last_active_date = EXCLUDED.last_active_date - 1 THEN user_streaks.current_streak + 1 " +
+                   "    ELSE 1 END), " +
+                   "last_active_date = GREATEST(user_streaks.last_active_date, EXCLUDED.last_active_date), " +
+                   "updated_at = now()",
+           nativeQuery = true)
+    int recordActiveDay(@Param("userId") UUID userId, @Param("at") Instant at, @Param("defaultZone") String defaultZone);
+
+    /**
+     * Recompute a user's streak from the daily rollup (gaps-and-islands)
+     * Used after offline sync (logs for past days may join two runs) and after
+     * a time zone change. Cost is O(active days) for that user
+     *
+     * @return Number of rows inserted or updated
+     */
+    @Modifying
+    @Query(value = "WITH days AS (" +
+                   "    SELECT activity_date, " +
+                   "           activity_date - CAST(ROW_NUMBER() OVER (ORDER BY activity_date) AS integer) AS grp " +
+                   "    FROM user_daily_activity WHERE user_id = CAST(:userId AS uuid)" +
+                   "), runs AS (" +
+                   "    SELECT MAX(activity_date) AS end_date, COUNT(*) AS len FROM days GROUP BY grp" +
+                   ") " +
+                   "INSERT INTO user_streaks (id, user_id, current_streak, longest_streak, last_active_date, " +
+                   "created_at, updated_at) " +
+                   "SELECT gen_random_uuid(), CAST(:userId AS uuid), " +
+                   "       CAST((ARRAY_AGG(len ORDER BY end_date DESC))[1] AS integer), " +
+                   "       CAST(MAX(len) AS integer), MAX(end_date), now(), now() " +
+                   "FROM runs HAVING COUNT(*) > 0 " +
+                   "ON CONFLICT (user_id) DO UPDATE SET " +
+                   "current_streak = EXCLUDED.current_streak, longest_streak = EXCLUDED.longest_streak, " +
+                   "last_active_date = EXCLUDED.last_active_date, updated_at = now()",
+           nativeQuery = true)
+    int recomputeFromActivity(@Param("userId") UUID userId);
+}
@@ -1,8 +1,10 @@
 package com.flashcards.service;
 
+import com.flashcards.config.CacheConfig;
 import com.flashcards.dto.request.CreateCardRequest;
 import com.flashcards.dto.request.ReorderCardsRequest;
 import com.flashcards.dto.request.UpdateCardRequest;
+import com.flashcards.dto.response.CardPageResponse;
 import com.flashcards.dto.response.CardResponse;
 import com.flashcards.dto.response.DueCardsSummaryResponse;
 import com.flashcards.exception.CardNotFoundException;
@@ -12,19 +14,30 @@ import com.flashcards.model.entity.Card;
 import com.flashcards.model.entity.CardProgress;
 import com.flashcards.model.entity.Deck;
 import com.flashcards.model.entity.User;
+import com.flashcards.model.enums.MasteryLevel;
+import com.flashcards.repository.CardField;
 import com.flashcards.repository.CardProgressRepository;
 import com.flashcards.repository.CardRepository;
 import com.flashcards.repository.DeckRepository;
+import com.flashcards.util.HtmlText;
+import com.flashcards.util.TimeOrderedUuid;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -40,6 +53,13 @@ public class CardService {
     private final CardRepository cardRepository;
     private final DeckRepository deckRepository;
     private final CardProgressRepository cardProgressRepository;
+    private final DeckProgressService deckProgressService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Max page size for keyset-paginated card listing
+     */
+    private static final int MAX_PAGE_SIZE = 500;
 
     /**
      * Add a new card to a deck
@@ -78,6 +98,9 @@ public class CardService {
                 .build();
 
         Card savedCard = cardRepository.save(card);
+        deckRepository.adjustCardCount(deckId, 1);
+        deckProgressService.cardsAdded(user.getId(), deckId, 1);
+        eventPublisher.publishEvent(StatisticsChangedEvent.cards(user.getId(), deckId));
         log.info("Card created: id={}, deckId={}, position={}", 
                  savedCard.getId(), savedCard.getDeckId(), savedCard.getPosition());
 
@@ -127,8 +150,10 @@ public class CardService {
         // Get starting position
         int startPosition = calculateNextPosition(deckId);
 
-        // Create all cards
-        List<Card> cards = new java.util.ArrayList<>();
+        // Create all cards with application-assigned, time-ordered ids
+        // so they can be written with a single batched INSERT
+        Instant now = Instant.now();
+        List<Card> cards = new ArrayList<>(requests.size());
         for (int i = 0; i < requests.size(); i++) {
             CreateCardRequest request = requests.get(i);
             
@@ -142,17 +167,23 @@ public class CardService {
                     .position(startPosition + i)
                     .tags(request.getTags())
                     .build();
+            card.setId(TimeOrderedUuid.next());
+            card.setCreatedAt(now);
+            card.setUpdatedAt(now);
             
             cards.add(card);
         }
 
-        // Save all cards in one batch
-        List<Card> savedCards = cardRepository.saveAll(cards);
-        log.info("Bulk created {} cards for deck {}", savedCards.size(), deckId);
+        // Save all cards with JDBC batching (bypasses per-entity persist)
+        int inserted = cardRepository.batchInsert(cards);
+        deckRepository.adjustCardCount(deckId, inserted);
+        deckProgressService.cardsAdded(user.getId(), deckId, inserted);
+        eventPublisher.publishEvent(StatisticsChangedEvent.cards(user.getId(), deckId));
+        log.info("Bulk created {} cards for deck {}", inserted, deckId);
 
-        // Convert to responses
-        return savedCards.stream()
-                .map(card -> toCardResponse(card, user))
+        // New cards have no progress yet - skip the per-card progress lookup
+        return cards.stream()
+                .map(card -> toCardResponse(card, (CardProgress) null))
                 .collect(Collectors.toList());
     }
 
@@ -160,11 +191,7 @@ public class CardService {
      * Check if HTML string has actual text content
      */
     private boolean hasTextContent(String html) {
-        if (html == null || html.isBlank()) {
-            return false;
-        }
-        String textContent = html.replaceAll("<[^>]*>", "").trim();
-        return !textContent.isEmpty();
+        return HtmlText.hasText(html);
     }
 
     /**
@@ -224,6 +251,10 @@ public class CardService {
         // DO NOT call repository.delete(card)
         card.softDelete();
         cardRepository.save(card);
+        deckRepository.adjustCardCount(card.getDeckId(), -1);
+        CardProgress progress = cardProgressRepository.findByUserIdAndCardId(user.getId(), cardId).orElse(null);
+        deckProgressService.cardRemoved(user.getId(), card.getDeckId(), DeckProgressService.levelOf(progress));
+        eventPublisher.publishEvent(StatisticsChangedEvent.cards(user.getId(), card.getDeckId()));
 
         log.info("Card soft deleted: id={}, deckId={}, userId={}", 
                  cardId, card.getDeckId(), user.getId());
@@ -265,6 +296,26 @@ public class CardService {
 
         // Bulk save
         cardRepository.saveAll(cards);
+
+        // One counter update per affected deck
+        Map<UUID, Long> deletedPerDeck = cards.stream()
+                .collect(Collectors.groupingBy(Card::getDeckId, Collectors.counting()));
+        deletedPerDeck.forEach((deckId, count) -> deckRepository.adjustCardCount(deckId, -count.intValue()));
+
+        // Mastery counters: one progress query, then one delta per affected deck
+        Map<UUID, CardProgress> progressByCard = new HashMap<>();
+        for (CardProgress progress : cardProgressRepository.findAllByUserIdAndCardIdIn(user.getId(), cardIds)) {
+            progressByCard.put(progress.getCardId(), progress);
+        }
+        Map<UUID, Map<MasteryLevel, Integer>> removedPerDeck = new HashMap<>();
+        for (Card card : cards) {
+            MasteryLevel level = DeckProgressService.levelOf(progressByCard.get(card.getId()));
+            removedPerDeck.computeIfAbsent(card.getDeckId(), id -> new EnumMap<>(MasteryLevel.class))
+                    .merge(level, 1, Integer::sum);
+        }
+        removedPerDeck.forEach((deckId, removed) -> deckProgressService.cardsRemoved(user.getId(), deckId, removed));
+        removedPerDeck.keySet().forEach(deckId ->
+                eventPublisher.publishEvent(StatisticsChangedEvent.cards(user.getId(), deckId)));
         log.info("Bulk deleted {} cards for userId={}", cards.size(), user.getId());
     }
 
@@ -312,15 +363,77 @@ public class CardService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get one page of cards in a deck using keyset pagination on (position, id)
+     * Only the requested fields are selected (DTO projection, no entity hydration)
+     * Security: Verifies deck ownership
+     *
+     * @param user Authenticated user
+     * @param deckId Deck ID
+     * @param afterPosition Position of the last card of the previous page (null for first page)
+     * @param afterId Id of the last card of the previous page (null for first page)
+     * @param fields Comma-separated field names, null or blank for all fields
+     * @param limit Page size (1..MAX_PAGE_SIZE)
+     * @return Page of projected cards with the cursor for the next page
+     * @throws DeckNotFoundException if deck not found
+     * @throws IllegalArgumentException if the cursor, fields or limit are invalid
+     */
+    @Transactional(readOnly = true)
+    public CardPageResponse getCardPage(User user, UUID deckId, Integer afterPosition, UUID afterId,
+                                        String fields, int limit) {
+        log.debug("Getting card page for deck {}: user={}, afterPosition={}, afterId={}, limit={}",
+                  deckId, user.getId(), afterPosition, afterId, limit);
+
+        if ((afterPosition == null) != (afterId == null)) {
+            throw new IllegalArgumentException("afterPosition and afterId must be provided together");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Set<CardField> selectedFields = CardField.parse(fields);
+
+        verifyDeckOwnership(user.getId(), deckId);
+
+        // Fetch one extra row to know whether another page exists
+        List<Tuple> rows = cardRepository.findCardPage(
+                deckId, user.getId(), afterPosition, afterId, selectedFields, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<Map<String, Object>> cards = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> card = new LinkedHashMap<>();
+            int index = 2;
+            for (CardField field : selectedFields) {
+                Object value = row.get(index++);
+                card.put(field.getKey(), value instanceof UUID ? value.toString() : value);
+            }
+            cards.add(card);
+        }
+
+        Tuple last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        return CardPageResponse.builder()
+                .cards(cards)
+                .hasMore(hasMore)
+                .nextAfterPosition(hasMore ? (Integer) last.get(0) : null)
+                .nextAfterId(hasMore ? last.get(1).toString() : null)
+                .build();
+    }
+
     /**
      * Get card count for a deck
+     * Reads the denormalized decks.card_count
      *
      * @param deckId Deck ID
      * @return Number of cards (excludes soft-deleted)
      */
     @Transactional(readOnly = true)
     public long getCardCount(UUID deckId) {
-        return cardRepository.countByDeckId(deckId);
+        return deckRepository.findById(deckId)
+                .map(Deck::getCardCount)
+                .orElse(0);
     }
 
     /**
@@ -445,19 +558,8 @@ public class CardService {
      * Returns max(position) + 1, or 0 if deck is empty
      */
     private int calculateNextPosition(UUID deckId) {
-        List<Card> existingCards = cardRepository.findAllByDeckIdOrderByPositionAsc(deckId);
-        
-        if (existingCards.isEmpty()) {
-            return 0;
-        }
-
-        // Get max position and add 1
-        int maxPosition = existingCards.stream()
-                .mapToInt(Card::getPosition)
-                .max()
-                .orElse(-1);
-
-        return maxPosition + 1;
+        Integer maxPosition = cardRepository.findMaxPositionByDeckId(deckId);
+        return maxPosition != null ? maxPosition + 1 : 0;
     }
 
     /**
@@ -518,6 +620,14 @@ public class CardService {
         CardProgress progress = cardProgressRepository.findByUserIdAndCardId(user.getId(), card.getId())
                 .orElse(null);
         
+        return toCardResponse(card, progress);
+    }
+
+    /**
+     * Convert Card entity to CardResponse DTO with already-loaded progress
+     * Pass null when the card has no progress (e.g. freshly created cards)
+     */
+    private CardResponse toCardResponse(Card card, CardProgress progress) {
         CardResponse.CardResponseBuilder builder = CardResponse.builder()
                 .id(card.getId().toString())
                 .deckId(card.getDeckId().toString())
@@ -551,6 +661,7 @@ public class CardService {
      * @return Summary with total due cards and breakdown by deck
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DUE_SUMMARY, key = "T(com.flashcards.service.StatisticsCacheKey).of(#user.id)")
     public DueCardsSummaryResponse getDueCardsSummary(User user) {
         log.info("Getting due cards summary for user: {}", user.getId());
 
@@ -0,0 +1,48 @@
+package com.flashcards.service;
+
+import com.flashcards.repository.DeckProgressCounterRepository;
+import com.flashcards.repository.DeckRepository;
+import com.flashcards.repository.FolderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Counter Repair Service
+ * Recomputes the denormalized decks.card_count, folders.deck_count and
+ * deck_progress_counters from the source tables with set-based statements
+ *
+ * Counters are maintained incrementally on every write; this job
+ * corrects any drift (manual SQL, partial failures, legacy rows)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CounterRepairService {
+
+    private final DeckRepository deckRepository;
+    private final FolderRepository folderRepository;
+    private final DeckProgressCounterRepository deckProgressCounterRepository;
+
+    /**
+     * Recompute all counters
+     * Runs nightly (app.counters.repair-cron) and can be invoked manually
+     */
+    @Scheduled(cron = "${app.counters.repair-cron:0 30 3 * * *}")
+    @Transactional
+    public void repairCounts() {
+        long start = System.currentTimeMillis();
+
+        int decksFixed = deckRepository.recomputeCardCounts();
+        int foldersFixed = folderRepository.recomputeDeckCounts();
+        int progressFixed = deckProgressCounterRepository.recomputeAll();
+
+        if (decksFixed > 0 || foldersFixed > 0 || progressFixed > 0) {
+            log.warn("Counter repair corrected {} decks, {} folders and {} progress counters",
+                    decksFixed, foldersFixed, progressFixed);
+        }
+        log.info("Counter repair finished in {} ms", System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,179 @@
+package com.flashcards.service;
+
+import com.flashcards.model.entity.User;
+import com.flashcards.model.entity.UserDailyActivity;
+import com.flashcards.model.entity.UserStreak;
+import com.flashcards.repository.UserDailyActivityRepository;
+import com.flashcards.repository.UserRepository;
+import com.flashcards.repository.UserStreakRepository;
+import com.flashcards.util.TimeZones;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Daily Activity Service
+ * Maintains the per-day study rollup and the stored streak on each log write,
+ * so streak and heatmap reads never scan study_log
+ *
+ * Days are local dates in the user's time zone (users.time_zone, falling back
+ * to app.default-time-zone). The conversion happens inside the SQL statements,
+ * so writes need no extra user lookup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailyActivityService {
+
+    private final UserDailyActivityRepository dailyActivityRepository;
+    private final UserStreakRepository userStreakRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StudyLogArchiveService studyLogArchiveService;
+
+    /**
+     * Zone for users without a time zone (blank = server time zone)
+     */
+    @Value("${app.default-time-zone:}")
+    private String defaultTimeZone;
+
+    /**
+     * Record one live study log (reviewed now) in the rollup and extend the streak in O(1)
+     * Must run inside the transaction that writes the log
+     *
+     * @param userId User ID
+     * @param reviewedAt Log timestamp (null = now)
+     * @param timeTakenMs Time spent (nullable)
+     */
+    @Transactional
+    public void recordActivity(UUID userId, Instant reviewedAt, Integer timeTakenMs) {
+        Instant at = reviewedAt != null ? reviewedAt : Instant.now();
+        String zone = defaultZone().getId();
+
+        dailyActivityRepository.addActivity(userId, at, 1, timeSpent(timeTakenMs), zone);
+        userStreakRepository.recordActiveDay(userId, at, zone);
+    }
+
+    /**
+     * Record a study log that may be for a past day (offline sync) in the rollup only
+     * Call {@link #rebuildStreak(UUID)} once after the batch: past days can join two runs
+     */
+    @Transactional
+    public void recordBackfilledActivity(UUID userId, Instant reviewedAt, Integer timeTakenMs) {
+        Instant at = reviewedAt != null ? reviewedAt : Instant.now();
+        dailyActivityRepository.addActivity(userId, at, 1, timeSpent(timeTakenMs), defaultZone().getId());
+    }
+
+    /**
+     * Recompute the stored streak from the rollup (O(active days))
+     */
+    @Transactional
+    public void rebuildStreak(UUID userId) {
+        userStreakRepository.recomputeFromActivity(userId);
+    }
+
+    /**
+     * Change a user's time zone and re-bucket their history in it
+     * The rollup is rebuilt from study_log with one GROUP BY in the database;
+     * days before the study_log archive horizon keep their original bucketing
+     *
+     * @param userId User ID
+     * @param timeZone IANA time zone id
+     * @return Normalized zone id that was stored
+     * @throws IllegalArgumentException for an invalid zone
+     */
+    @Transactional
+    public String updateTimeZone(UUID userId, String timeZone) {
+        ZoneId zone = TimeZones.parse(timeZone);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+        if (zone.getId().equals(user.getTimeZone())) {
+            return zone.getId();
+        }
+
+        user.setTimeZone(zone.getId());
+        userRepository.saveAndFlush(user);
+
+        Instant horizon = studyLogArchiveService.archiveHorizon();
+        Instant since = horizon != null ? horizon : Instant.EPOCH;
+        String defaultZoneId = defaultZone().getId();
+        dailyActivityRepository.deleteByUserAfterDayOf(userId, since, defaultZoneId);
+        int days = dailyActivityRepository.rebuildFromStudyLog(userId, since, defaultZoneId);
+        userStreakRepository.recomputeFromActivity(userId);
+
+        // Streak and heatmap caches are bucketed by the old zone
+        eventPublisher.publishEvent(StatisticsChangedEvent.review(userId, null));
+
+        log.info("Time zone changed: userId={}, zone={}, rebuilt {} activity days", userId, zone.getId(), days);
+        return zone.getId();
+    }
+
+    /**
+     * Current streak: the stored run, if it ended today or yesterday in the user's zone
+     *
+     * @param userId User ID
+     * @return Consecutive active days, 0 if the streak is broken
+     */
+    @Transactional(readOnly = true)
+    public int getCurrentStreak(UUID userId) {
+        Integer streak = userStreakRepository.findCurrentStreak(userId, defaultZone().getId());
+        return streak != null ? streak : 0;
+    }
+
+    /**
+     * Longest streak ever recorded
+     *
+     * @param userId User ID
+     * @return Longest run of consecutive active days
+     */
+    @Transactional(readOnly = true)
+    public int getLongestStreak(UUID userId) {
+        return userStreakRepository.findByUserId(userId)
+                .map(UserStreak::getLongestStreak)
+                .orElse(0);
+    }
+
+    /**
+     * Active local days in a date range, oldest first (days without activity are absent)
+     */
+    @Transactional(readOnly = true)
+    public List<UserDailyActivity> getActivity(UUID userId, LocalDate from, LocalDate to) {
+        return dailyActivityRepository.findAllByUserIdAndActivityDateBetweenOrderByActivityDateAsc(userId, from, to);
+    }
+
+    /**
+     * Time zone the user's rollup days are bucketed in
+     */
+    @Transactional(readOnly = true)
+    public ZoneId zoneOf(UUID userId) {
+        return userRepository.findById(userId)
+                .map(User::getTimeZone)
+                .filter(tz -> !tz.isBlank())
+                .map(ZoneId::of)
+                .orElseGet(this::defaultZone);
+    }
+
+    /**
+     * Zone for users without a time zone
+     */
+    public ZoneId defaultZone() {
+        if (defaultTimeZone == null || defaultTimeZone.isBlank()) {
+            return ZoneId.systemDefault();
+        }
+        return ZoneId.of(defaultTimeZone.trim());
+    }
+
+    private static long timeSpent(Integer timeTakenMs) {
+        return timeTakenMs != null ? Math.max(timeTakenMs, 0) : 0L;
+    }
+}
@@ -0,0 +1,258 @@
+package com.flashcards.service;
+
+import com.flashcards.config.CacheConfig;
+import com.flashcards.dto.response.MasteryLevelStatistics;
+import com.flashcards.dto.response.ModeStatisticsDetail;
+import com.flashcards.dto.response.StatisticsSummaryResponse;
+import com.flashcards.dto.response.StudyTimeStatisticsResponse;
+import com.flashcards.dto.statistics.StatisticsSummaryDTO;
+import com.flashcards.model.enums.StudyMode;
+import com.flashcards.repository.ModeTimeTotals;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dashboard Service
+ * Composes the statistics dashboards from independent sections
+ *
+ * Each section (streak, due count, heatmap, mastery, study time, ...) runs
+ * concurrently on a small bounded pool, in its own read-only transaction and
+ * therefore on its own connection. Latency is that of the slowest section.
+ * A section that fails or exceeds app.dashboard.section-timeout-ms is left
+ * null and listed in unavailableSections, so the rest is still returned.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    /**
+     * Sections waiting for a thread; beyond this a section is reported unavailable
+     */
+    private static final int QUEUE_CAPACITY = 200;
+
+    private final StatisticsService statisticsService;
+    private final StudySessionService studySessionService;
+    private final DailyActivityService dailyActivityService;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Worker threads; keep well below the connection pool size
+     */
+    @Value("${app.dashboard.pool-size:4}")
+    private int poolSize;
+
+    @Value("${app.dashboard.section-timeout-ms:3000}")
+    private long sectionTimeoutMs;
+
+    private ExecutorService executor;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void start() {
+        // Java 17: platform threads (virtual threads need Java 21)
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // The transaction timeout is applied to each query, so a timed-out
+        // section also stops using its connection shortly afterwards
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readOnlyTransaction.setTimeout((int) Math.max(1, (sectionTimeoutMs + 999) / 1000));
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Statistics summary (streak, totals, due count, heatmap, pie chart)
+     */
+    @Cacheable(cacheNames = CacheConfig.STATISTICS_SUMMARY, key = "T(com.flashcards.service.StatisticsCacheKey).of(#userId)",
+            unless = "#result.unavailableSections != null && !#result.unavailableSections.isEmpty()")
+    public StatisticsSummaryDTO getSummary(UUID userId) {
+        log.info("Getting statistics summary for user: {}", userId);
+
+        Sections sections = new Sections(userId);
+        CompletableFuture<Integer> streak = sections.start(() -> statisticsService.calculateStreak(userId));
+        CompletableFuture<Integer> longestStreak = sections.start(
+                () -> dailyActivityService.getLongestStreak(userId));
+        CompletableFuture<Long> totalCardsLearned = sections.start(
+                () -> statisticsService.getTotalCardsLearned(userId));
+        CompletableFuture<Long> dueCardsCount = sections.start(
+                () -> statisticsService.getDueCardsCount(userId));
+        CompletableFuture<Map<String, Integer>> heatmapData = sections.start(
+                () -> statisticsService.generateHeatmapData(userId));
+        CompletableFuture<StatisticsSummaryDTO.PieChartDataDTO> pieChartData = sections.start(
+                () -> statisticsService.generatePieChartData(userId));
+
+        Integer currentStreak = sections.await("streak", streak);
+        Integer longest = sections.await("longestStreak", longestStreak);
+        if (currentStreak != null && longest != null) {
+            longest = Math.max(longest, currentStreak);
+        }
+
+        return StatisticsSummaryDTO.builder()
+                .streak(currentStreak)
+                .longestStreak(longest)
+                .totalCardsLearned(sections.await("totalCardsLearned", totalCardsLearned))
+                .dueCardsCount(sections.await("dueCardsCount", dueCardsCount))
+                .heatmapData(sections.await("heatmapData", heatmapData))
+                .pieChartData(sections.await("pieChartData", pieChartData))
+                .unavailableSections(sections.unavailable())
+                .build();
+    }
+
+    /**
+     * Enhanced summary (mastery levels and study time), optionally for one deck
+     */
+    @Cacheable(cacheNames = CacheConfig.ENHANCED_SUMMARY, key = "T(com.flashcards.service.StatisticsCacheKey).of(#userId, #deckId)",
+            unless = "#result.unavailableSections != null && !#result.unavailableSections.isEmpty()")
+    public StatisticsSummaryResponse getEnhancedSummary(UUID userId, UUID deckId) {
+        log.info("Getting enhanced statistics summary for user: {}, deck: {}", userId, deckId);
+
+        Sections sections = new Sections(userId);
+        CompletableFuture<MasteryLevelStatistics> masteryLevels = sections.start(
+                () -> deckId != null
+                        ? statisticsService.getMasteryLevelStatisticsByDeck(userId, deckId)
+                        : statisticsService.getMasteryLevelStatistics(userId));
+        CompletableFuture<StudyTimeStatisticsResponse> studyTime = sections.start(
+                () -> buildStudyTime(userId, deckId));
+
+        MasteryLevelStatistics mastery = sections.await("masteryLevels", masteryLevels);
+
+        return StatisticsSummaryResponse.builder()
+                .totalCards(mastery != null ? mastery.getTotal() : null)
+                .masteryLevels(mastery)
+                .studyTime(sections.await("studyTime", studyTime))
+                .unavailableSections(sections.unavailable())
+                .build();
+    }
+
+    /**
+     * Study time per mode and mode details (one GROUP BY query plus one test aggregate)
+     */
+    private StudyTimeStatisticsResponse buildStudyTime(UUID userId, UUID deckId) {
+        Map<StudyMode, ModeTimeTotals> modeTotals = studySessionService.getModeTotals(userId, deckId);
+        Map<String, Long> timeStats = studySessionService.toTimeByMode(modeTotals);
+
+        Map<String, String> formattedTimes = new HashMap<>();
+        timeStats.forEach((key, seconds) -> formattedTimes.put(key, formatDuration(seconds)));
+
+        Map<String, ModeStatisticsDetail> modeDetails = studySessionService.getModeDetails(userId, deckId, modeTotals);
+
+        return StudyTimeStatisticsResponse.builder()
+                .totalSeconds(timeStats.get("total"))
+                .timeByMode(timeStats)
+                .totalFormatted(formattedTimes.get("total"))
+                .timeByModeFormatted(formattedTimes)
+                .modeDetails(modeDetails)
+                .build();
+    }
+
+    /**
+     * Format duration in seconds to human-readable string
+     */
+    private String formatDuration(Long seconds) {
+        if (seconds == null || seconds == 0) {
+            return "0s";
+        }
+
+        long hours = seconds / 3600;
+        long minutes = (seconds % 3600) / 60;
+        long secs = seconds % 60;
+
+        StringBuilder formatted = new StringBuilder();
+        if (hours > 0) {
+            formatted.append(hours).append("h ");
+        }
+        if (minutes > 0) {
+            formatted.append(minutes).append("m ");
+        }
+        if (secs > 0 || formatted.length() == 0) {
+            formatted.append(secs).append("s");
+        }
+
+        return formatted.toString().trim();
+    }
+
+    /**
+     * Sections of one dashboard request
+     */
+    private final class Sections {
+
+        private final UUID userId;
+        private final List<String> unavailable = Collections.synchronizedList(new ArrayList<>());
+
+        private Sections(UUID userId) {
+            this.userId = userId;
+        }
+
+        /**
+         * Start a section on the pool in its own read-only transaction
+         */
+        <T> CompletableFuture<T> start(Supplier<T> section) {
+            try {
+                return CompletableFuture
+                        .supplyAsync(() -> readOnlyTransaction.execute(status -> section.get()), executor)
+                        .orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        /**
+         * Wait for a section; null (and listed as unavailable) if it failed or timed out
+         */
+        <T> T await(String name, CompletableFuture<T> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof TimeoutException) {
+                    log.warn("Dashboard section {} timed out after {} ms for user {}", name, sectionTimeoutMs, userId);
+                } else {
+                    log.warn("Dashboard section {} failed for user {}: {}", name, userId, cause.toString());
+                }
+                unavailable.add(name);
+                return null;
+            }
+        }
+
+        List<String> unavailable() {
+            return unavailable;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.flashcards.service;
+
+import com.flashcards.dto.response.DeckProgressResponse;
+import com.flashcards.model.entity.CardProgress;
+import com.flashcards.model.entity.DeckProgressCounter;
+import com.flashcards.model.enums.MasteryLevel;
+import com.flashcards.repository.DeckProgressCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Deck Progress Service
+ * Maintains and reads the materialized per-(user, deck) mastery counters
+ *
+ * Writers call the delta methods inside their own transaction, so a counter
+ * change commits or rolls back together with the card/progress change.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeckProgressService {
+
+    private final DeckProgressCounterRepository counterRepository;
+
+    /**
+     * Classify a card by its progress (null = never studied)
+     */
+    public static MasteryLevel levelOf(CardProgress progress) {
+        return progress == null
+                ? MasteryLevel.NEW
+                : MasteryLevel.of(progress.getLearningState(), progress.getInterval());
+    }
+
+    /**
+     * New cards were added to a deck (they start as NEW)
+     */
+    public void cardsAdded(UUID userId, UUID deckId, int count) {
+        if (count > 0) {
+            apply(userId, deckId, Map.of(MasteryLevel.NEW, count));
+        }
+    }
+
+    /**
+     * One card entered a deck with the given level (sync restore / move)
+     */
+    public void cardAdded(UUID userId, UUID deckId, MasteryLevel level) {
+        apply(userId, deckId, Map.of(level, 1));
+    }
+
+    /**
+     * One card left a deck (deleted or moved away)
+     */
+    public void cardRemoved(UUID userId, UUID deckId, MasteryLevel level) {
+        apply(userId, deckId, Map.of(level, -1));
+    }
+
+    /**
+     * Several cards left a deck, counted per level
+     */
+    public void cardsRemoved(UUID userId, UUID deckId, Map<MasteryLevel, Integer> removedPerLevel) {
+        Map<MasteryLevel, Integer> deltas = new EnumMap<>(MasteryLevel.class);
+        removedPerLevel.forEach((level, count) -> deltas.put(level, -count));
+        apply(userId, deckId, deltas);
+    }
+
+    /**
+     * A card's progress moved it from one level to another
+     */
+    public void levelChanged(UUID userId, UUID deckId, MasteryLevel from, MasteryLevel to) {
+        if (from == to) {
+            return;
+        }
+        Map<MasteryLevel, Integer> deltas = new EnumMap<>(MasteryLevel.class);
+        deltas.put(from, -1);
+        deltas.put(to, 1);
+        apply(userId, deckId, deltas);
+    }
+
+    private void apply(UUID userId, UUID deckId, Map<MasteryLevel, Integer> deltas) {
+        counterRepository.applyDelta(userId, deckId,
+                deltas.getOrDefault(MasteryLevel.NEW, 0),
+                deltas.getOrDefault(MasteryLevel.STILL_LEARNING, 0),
+                deltas.getOrDefault(MasteryLevel.ALMOST_DONE, 0),
+                deltas.getOrDefault(MasteryLevel.MASTERED, 0));
+    }
+
+    /**
+     * Progress of all of a user's decks in one query, keyed by deck ID
+     * Decks without a counter row (no cards yet) are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, DeckProgressResponse> getProgressByDeck(UUID userId) {
+        return toMap(counterRepository.findAllByUserId(userId));
+    }
+
+    /**
+     * Progress of specific decks in one query, keyed by deck ID
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, DeckProgressResponse> getProgressByDeck(UUID userId, Collection<UUID> deckIds) {
+        if (deckIds.isEmpty()) {
+            return Map.of();
+        }
+        return toMap(counterRepository.findAllByUserIdAndDeckIdIn(userId, deckIds));
+    }
+
+    /**
+     * Empty progress for a deck without a counter row
+     */
+    public static DeckProgressResponse emptyProgress(UUID deckId) {
+        return DeckProgressResponse.builder()
+                .deckId(deckId.toString())
+                .newCards(0)
+                .stillLearning(0)
+                .almostDone(0)
+                .mastered(0)
+                .total(0)
+                .build();
+    }
+
+    private Map<UUID, DeckProgressResponse> toMap(List<DeckProgressCounter> counters) {
+        Map<UUID, DeckProgressResponse> result = new HashMap<>(counters.size() * 2);
+        for (DeckProgressCounter counter : counters) {
+            result.put(counter.getDeckId(), toResponse(counter));
+        }
+        return result;
+    }
+
+    private DeckProgressResponse toResponse(DeckProgressCounter counter) {
+        int total = counter.getNewCount() + counter.getLearningCount()
+                + counter.getAlmostDoneCount() + counter.getMasteredCount();
+        return DeckProgressResponse.builder()
+                .deckId(counter.getDeckId().toString())
+                .newCards(counter.getNewCount())
+                .stillLearning(counter.getLearningCount())
+                .almostDone(counter.getAlmostDoneCount())
+                .mastered(counter.getMasteredCount())
+                .total(total)
+                .build();
+    }
+}
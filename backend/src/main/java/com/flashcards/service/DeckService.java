@@ -1,20 +1,34 @@
 package com.flashcards.service;
 
+import com.flashcards.dto.request.CloneDeckRequest;
 import com.flashcards.dto.request.CreateDeckRequest;
 import com.flashcards.dto.request.UpdateDeckRequest;
+import com.flashcards.dto.response.DeckPageResponse;
+import com.flashcards.dto.response.DeckProgressResponse;
 import com.flashcards.dto.response.DeckResponse;
 import com.flashcards.exception.DeckNotFoundException;
 import com.flashcards.exception.UnauthorizedException;
 import com.flashcards.model.entity.Deck;
 import com.flashcards.model.entity.User;
+import com.flashcards.model.enums.SourceType;
 import com.flashcards.repository.CardRepository;
 import com.flashcards.repository.DeckRepository;
+import com.flashcards.repository.DeckSort;
+import com.flashcards.repository.FolderRepository;
+import com.flashcards.repository.LastViewedRepository;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -29,6 +43,15 @@ public class DeckService {
 
     private final DeckRepository deckRepository;
     private final CardRepository cardRepository;
+    private final FolderRepository folderRepository;
+    private final LastViewedBuffer lastViewedBuffer;
+    private final DeckProgressService deckProgressService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Max page size for keyset-paginated deck listing
+     */
+    private static final int MAX_PAGE_SIZE = 200;
 
     /**
      * Create a new deck for a user
@@ -104,9 +127,66 @@ public class DeckService {
         deck.softDelete();
         deckRepository.save(deck);
 
+        if (deck.getFolderId() != null) {
+            folderRepository.adjustDeckCount(deck.getFolderId(), -1);
+        }
+        eventPublisher.publishEvent(StatisticsChangedEvent.cards(user.getId(), deckId));
+
         log.info("Deck soft deleted: id={}, userId={}", deckId, user.getId());
     }
 
+    /**
+     * Clone a deck with all of its cards
+     * Cards are copied server-side by a single INSERT ... SELECT;
+     * each copy references its original via sourceCardId
+     * The clone is LOCAL and its sourceId is the source deck id
+     *
+     * @param user Authenticated user
+     * @param deckId Deck ID to clone
+     * @param request Clone options (nullable - defaults apply)
+     * @return New deck response
+     * @throws DeckNotFoundException if deck not found
+     * @throws UnauthorizedException if user doesn't own the deck
+     */
+    @Transactional
+    public DeckResponse cloneDeck(User user, UUID deckId, CloneDeckRequest request) {
+        log.info("Cloning deck {}: user={}", deckId, user.getId());
+
+        Deck source = getDeckWithOwnershipCheck(user.getId(), deckId);
+
+        String title = request != null && request.getTitle() != null && !request.getTitle().isBlank()
+                ? request.getTitle()
+                : source.getTitle() + " (copy)";
+        boolean copyTags = request == null || !Boolean.FALSE.equals(request.getCopyTags());
+        boolean copyMedia = request == null || !Boolean.FALSE.equals(request.getCopyMedia());
+
+        Deck clone = Deck.builder()
+                .userId(user.getId())
+                .folderId(source.getFolderId())
+                .title(title)
+                .description(source.getDescription())
+                // A clone is a local deck; (ANKI/QUIZLET, sourceId) identifies imports only
+                .sourceType(SourceType.LOCAL)
+                .sourceId(source.getId().toString())
+                .build();
+
+        // Flush so the deck row exists before the native INSERT references it
+        Deck savedClone = deckRepository.saveAndFlush(clone);
+
+        int copied = cardRepository.cloneCards(source.getId(), savedClone.getId(), copyTags, copyMedia);
+        deckRepository.adjustCardCount(savedClone.getId(), copied);
+        deckProgressService.cardsAdded(user.getId(), savedClone.getId(), copied);
+        if (savedClone.getFolderId() != null) {
+            folderRepository.adjustDeckCount(savedClone.getFolderId(), 1);
+        }
+        eventPublisher.publishEvent(StatisticsChangedEvent.cards(user.getId(), savedClone.getId()));
+        // Counter columns are not written by entity saves - mirror the UPDATE for the response
+        savedClone.setCardCount(copied);
+        log.info("Deck cloned: sourceId={}, cloneId={}, cards={}", deckId, savedClone.getId(), copied);
+
+        return toDeckResponse(savedClone);
+    }
+
     /**
      * Get a deck by ID with ownership verification
      *
@@ -121,7 +201,8 @@ public class DeckService {
         log.debug("Getting deck {}: user={}", deckId, user.getId());
 
         Deck deck = getDeckWithOwnershipCheck(user.getId(), deckId);
-        return toDeckResponse(deck);
+        Map<UUID, DeckProgressResponse> progress = deckProgressService.getProgressByDeck(user.getId(), List.of(deckId));
+        return toDeckResponse(deck, progressOrEmpty(progress, deck));
     }
 
     /**
@@ -136,12 +217,102 @@ public class DeckService {
         log.debug("Getting all decks for user {}", user.getId());
 
         List<Deck> decks = deckRepository.findAllByUserId(user.getId());
+        Map<UUID, DeckProgressResponse> progress = deckProgressService.getProgressByDeck(user.getId());
         
         return decks.stream()
-                .map(this::toDeckResponse)
+                .map(deck -> toDeckResponse(deck, progressOrEmpty(progress, deck)))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get mastery progress for all of a user's decks
+     * Two queries (decks, counters) regardless of deck or card count
+     *
+     * @param user Authenticated user
+     * @return One progress entry per deck
+     */
+    @Transactional(readOnly = true)
+    public List<DeckProgressResponse> getAllDeckProgress(User user) {
+        log.debug("Getting progress for all decks of user {}", user.getId());
+
+        List<Deck> decks = deckRepository.findAllByUserId(user.getId());
+        Map<UUID, DeckProgressResponse> progress = deckProgressService.getProgressByDeck(user.getId());
+
+        return decks.stream()
+                .map(deck -> progressOrEmpty(progress, deck))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get a page of the user's decks (keyset pagination)
+     * Sorting, folder and title-prefix filtering happen in the database,
+     * served by the partial (user_id, sort key, id) indexes on decks
+     *
+     * @param user Authenticated user
+     * @param folderId Only decks in this folder (optional)
+     * @param uncategorized Only decks without a folder
+     * @param titlePrefix Case-insensitive title prefix (optional)
+     * @param sort Sort key: lastViewedAt, updatedAt, title, cardCount (default lastViewedAt)
+     * @param direction asc or desc (default depends on the sort key)
+     * @param cursor nextCursor from the previous page (optional)
+     * @param limit Page size (1-200)
+     * @return Page of decks with cursor
+     * @throws IllegalArgumentException for invalid parameters or cursor
+     */
+    @Transactional(readOnly = true)
+    public DeckPageResponse getDeckPage(User user, UUID folderId, boolean uncategorized, String titlePrefix,
+                                        String sort, String direction, String cursor, int limit) {
+        log.debug("Getting deck page for user {}: folderId={}, sort={}, direction={}, limit={}",
+                  user.getId(), folderId, sort, direction, limit);
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        DeckSort deckSort = DeckSort.parse(sort);
+        boolean descending = parseDirection(direction, deckSort.isDefaultDescending());
+        String prefix = titlePrefix != null && !titlePrefix.isBlank() ? titlePrefix.trim() : null;
+
+        UUID afterId = null;
+        Object afterValue = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            afterId = parseCursorId(parts[0]);
+            afterValue = parts[1] != null ? deckSort.parseValue(parts[1]) : null;
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<Tuple> rows = deckRepository.findDeckPage(user.getId(), folderId, uncategorized, prefix,
+                deckSort, descending, afterValue, afterId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<Deck> pageDecks = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            pageDecks.add(row.get(0, Deck.class));
+        }
+        Map<UUID, DeckProgressResponse> progress = deckProgressService.getProgressByDeck(
+                user.getId(), pageDecks.stream().map(Deck::getId).collect(Collectors.toList()));
+
+        List<DeckResponse> decks = new ArrayList<>(pageDecks.size());
+        for (Deck deck : pageDecks) {
+            decks.add(toDeckResponse(deck, progressOrEmpty(progress, deck)));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Tuple last = rows.get(rows.size() - 1);
+            nextCursor = encodeCursor(last.get(0, Deck.class).getId(), last.get(1));
+        }
+
+        return DeckPageResponse.builder()
+                .decks(decks)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     /**
      * Get deck count for a user
      *
@@ -155,25 +326,13 @@ public class DeckService {
 
     /**
      * Update deck last viewed timestamp
-     * Uses native query to avoid triggering @UpdateTimestamp on updatedAt
+     * Buffered in memory and written in batches by LastViewedBuffer;
+     * ownership is enforced by the batched UPDATE
      */
-    @Transactional
     public void updateLastViewed(User user, UUID deckId) {
-        log.info("Updating deck last viewed: deckId={}, userId={}", deckId, user.getId());
-        
-        // Use native query to update only last_viewed_at without triggering updated_at
-        int rowsUpdated = deckRepository.updateLastViewedAt(
-            deckId, 
-            user.getId(), 
-            java.time.Instant.now()
-        );
+        log.debug("Recording deck view: deckId={}, userId={}", deckId, user.getId());
         
-        if (rowsUpdated == 0) {
-            log.warn("Failed to update last viewed: deckId={}, userId={}", deckId, user.getId());
-            throw new com.flashcards.exception.DeckNotFoundException(deckId);
-        }
-        
-        log.debug("Deck last viewed updated: deckId={}", deckId);
+        lastViewedBuffer.record(LastViewedRepository.Target.DECK, deckId, user.getId(), Instant.now());
     }
 
     /**
@@ -197,14 +356,73 @@ public class DeckService {
         return deck;
     }
 
+    private boolean parseDirection(String direction, boolean defaultDescending) {
+        if (direction == null || direction.isBlank()) {
+            return defaultDescending;
+        }
+        if (direction.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        if (direction.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        throw new IllegalArgumentException("direction must be asc or desc");
+    }
+
+    /**
+     * Cursor format (base64url): "<id>|" for a null sort value, "<id>|v<value>" otherwise
+     */
+    private String encodeCursor(UUID id, Object sortValue) {
+        String raw = id + "|" + (sortValue != null ? "v" + sortValue : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int separator = raw.indexOf('|');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String value = raw.substring(separator + 1);
+        return new String[] {
+                raw.substring(0, separator),
+                value.startsWith("v") ? value.substring(1) : null
+        };
+    }
+
+    private UUID parseCursorId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Progress for a deck from a batch lookup (zeros when the deck has no counters yet)
+     */
+    public DeckProgressResponse progressOrEmpty(Map<UUID, DeckProgressResponse> progress, Deck deck) {
+        DeckProgressResponse deckProgress = progress.get(deck.getId());
+        return deckProgress != null ? deckProgress : DeckProgressService.emptyProgress(deck.getId());
+    }
+
     /**
      * Convert Deck entity to DeckResponse DTO
      * Made public so FolderService can use it
      */
     public DeckResponse toDeckResponse(Deck deck) {
-        // Count cards in this deck (excludes soft-deleted cards)
-        long cardCount = cardRepository.countByDeckId(deck.getId());
+        return toDeckResponse(deck, null);
+    }
 
+    /**
+     * Convert Deck entity to DeckResponse DTO with its mastery progress
+     */
+    public DeckResponse toDeckResponse(Deck deck, DeckProgressResponse progress) {
         return DeckResponse.builder()
                 .id(deck.getId().toString())
                 .userId(deck.getUserId().toString())
@@ -213,10 +431,11 @@ public class DeckService {
                 .description(deck.getDescription())
                 .sourceType(deck.getSourceType())
                 .sourceId(deck.getSourceId())
-                .cardCount((int) cardCount)
+                .cardCount(deck.getCardCount())
                 .createdAt(deck.getCreatedAt())
                 .updatedAt(deck.getUpdatedAt())
                 .lastViewedAt(deck.getLastViewedAt())
+                .progress(progress)
                 .build();
     }
 }
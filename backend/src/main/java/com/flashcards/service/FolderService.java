@@ -2,8 +2,11 @@ package com.flashcards.service;
 
 import com.flashcards.dto.request.CreateFolderRequest;
 import com.flashcards.dto.request.UpdateFolderRequest;
+import com.flashcards.dto.response.BulkUpdateResponse;
+import com.flashcards.dto.response.DeckProgressResponse;
 import com.flashcards.dto.response.DeckResponse;
 import com.flashcards.dto.response.FolderResponse;
+import com.flashcards.dto.response.LibraryResponse;
 import com.flashcards.exception.FolderNotFoundException;
 import com.flashcards.exception.UnauthorizedException;
 import com.flashcards.model.entity.Deck;
@@ -11,12 +14,19 @@ import com.flashcards.model.entity.Folder;
 import com.flashcards.model.entity.User;
 import com.flashcards.repository.DeckRepository;
 import com.flashcards.repository.FolderRepository;
+import com.flashcards.repository.LastViewedRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -32,6 +42,8 @@ public class FolderService {
     private final FolderRepository folderRepository;
     private final DeckRepository deckRepository;
     private final DeckService deckService;
+    private final LastViewedBuffer lastViewedBuffer;
+    private final DeckProgressService deckProgressService;
     
     /**
      * Create a new folder
@@ -59,6 +71,11 @@ public class FolderService {
     public List<FolderResponse> getAllFolders(User user, boolean includeDecks) {
         log.info("Fetching folders for user: userId={}", user.getId());
         
+        if (includeDecks) {
+            // Set-based tree assembly instead of one deck query per folder
+            return getLibrary(user).getFolders();
+        }
+        
         List<Folder> folders = folderRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
         
         return folders.stream()
@@ -66,6 +83,52 @@ public class FolderService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Get the whole library tree: folders with their decks, plus uncategorized decks
+     * Three queries (folders, decks, deck progress) regardless of folder count;
+     * the tree is assembled in memory. Counts come from the denormalized columns.
+     */
+    @Transactional(readOnly = true)
+    public LibraryResponse getLibrary(User user) {
+        log.info("Fetching library tree for user: userId={}", user.getId());
+        
+        List<Folder> folders = folderRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
+        List<Deck> decks = deckRepository.findAllByUserIdOrderByCreatedAtDesc(user.getId());
+        Map<UUID, DeckProgressResponse> progress = deckProgressService.getProgressByDeck(user.getId());
+        
+        Map<UUID, List<DeckResponse>> decksByFolder = new HashMap<>();
+        for (Folder folder : folders) {
+            decksByFolder.put(folder.getId(), new ArrayList<>());
+        }
+        
+        List<DeckResponse> uncategorized = new ArrayList<>();
+        for (Deck deck : decks) {
+            List<DeckResponse> folderDecks = deck.getFolderId() != null
+                    ? decksByFolder.get(deck.getFolderId())
+                    : null;
+            // Decks pointing at a missing/deleted folder are shown as uncategorized
+            (folderDecks != null ? folderDecks : uncategorized)
+                    .add(deckService.toDeckResponse(deck, deckService.progressOrEmpty(progress, deck)));
+        }
+        
+        List<FolderResponse> folderResponses = new ArrayList<>(folders.size());
+        for (Folder folder : folders) {
+            List<DeckResponse> folderDecks = decksByFolder.get(folder.getId());
+            FolderResponse response = toFolderResponse(folder, false);
+            response.setDeckCount(folderDecks.size());
+            response.setDecks(folderDecks);
+            folderResponses.add(response);
+        }
+        
+        log.info("Library tree assembled: {} folders, {} decks, {} uncategorized", 
+                folders.size(), decks.size(), uncategorized.size());
+        
+        return LibraryResponse.builder()
+                .folders(folderResponses)
+                .uncategorizedDecks(uncategorized)
+                .build();
+    }
+    
     /**
      * Get folder by ID
      */
@@ -104,22 +167,82 @@ public class FolderService {
     public void deleteFolder(User user, UUID folderId) {
         log.info("Deleting folder: folderId={}, userId={}", folderId, user.getId());
         
-        Folder folder = verifyFolderOwnership(user.getId(), folderId);
+        verifyFolderOwnership(user.getId(), folderId);
         
-        // Move all decks out of this folder
-        List<Deck> decksInFolder = deckRepository.findByFolderIdAndUserId(folderId, user.getId());
-        for (Deck deck : decksInFolder) {
-            deck.setFolderId(null);
-            deckRepository.save(deck);
+        deleteFolders(user, List.of(folderId));
+        
+        log.info("Folder deleted: id={}", folderId);
+    }
+    
+    /**
+     * Delete several folders (soft delete)
+     * Decks inside are moved to uncategorized with one UPDATE,
+     * then the folders are soft deleted with a second one
+     * Folders not owned by the user are skipped
+     */
+    @Transactional
+    public BulkUpdateResponse deleteFolders(User user, List<UUID> folderIds) {
+        UUID[] ids = distinctIds(folderIds);
+        log.info("Bulk deleting {} folders: userId={}", ids.length, user.getId());
+        
+        if (ids.length == 0) {
+            return BulkUpdateResponse.builder().requestedCount(0).affectedCount(0).unassignedDeckCount(0).build();
         }
         
-        log.info("Moved {} decks out of folder {}", decksInFolder.size(), folderId);
+        int unassigned = deckRepository.unassignDecksFromFolders(ids, user.getId());
+        int deleted = folderRepository.softDeleteByIds(ids, user.getId());
         
-        // Soft delete folder
-        folder.softDelete();
-        folderRepository.save(folder);
+        log.info("Bulk deleted {} folders, moved {} decks to uncategorized", deleted, unassigned);
         
-        log.info("Folder deleted: id={}", folderId);
+        return BulkUpdateResponse.builder()
+                .requestedCount(ids.length)
+                .affectedCount(deleted)
+                .unassignedDeckCount(unassigned)
+                .build();
+    }
+    
+    /**
+     * Move several decks to a folder (or to uncategorized when folderId is null)
+     * One UPDATE for the move; folder deck counts are adjusted per source folder
+     * Decks not owned by the user or already in the target are skipped
+     */
+    @Transactional
+    public BulkUpdateResponse moveDecks(User user, UUID folderId, List<UUID> deckIds) {
+        UUID[] ids = distinctIds(deckIds);
+        log.info("Bulk moving {} decks: folderId={}, userId={}", ids.length, folderId, user.getId());
+        
+        if (ids.length == 0) {
+            return BulkUpdateResponse.builder().requestedCount(0).affectedCount(0).build();
+        }
+        
+        if (folderId != null) {
+            verifyFolderOwnership(user.getId(), folderId);
+        }
+        
+        // Source folders of the decks, read once before the move for counter maintenance
+        List<Object[]> sourceFolders = deckRepository.countByFolderForDecks(Arrays.asList(ids), user.getId());
+        
+        int moved = folderId != null
+                ? deckRepository.moveDecksToFolder(ids, user.getId(), folderId)
+                : deckRepository.unassignDecks(ids, user.getId());
+        
+        for (Object[] row : sourceFolders) {
+            UUID sourceFolderId = (UUID) row[0];
+            // Decks already in the target folder were not moved
+            if (!sourceFolderId.equals(folderId)) {
+                folderRepository.adjustDeckCount(sourceFolderId, -((Long) row[1]).intValue());
+            }
+        }
+        if (folderId != null && moved > 0) {
+            folderRepository.adjustDeckCount(folderId, moved);
+        }
+        
+        log.info("Bulk moved {} decks to folder {}", moved, folderId);
+        
+        return BulkUpdateResponse.builder()
+                .requestedCount(ids.length)
+                .affectedCount(moved)
+                .build();
     }
     
     /**
@@ -129,15 +252,12 @@ public class FolderService {
     public void addDeckToFolder(User user, UUID folderId, UUID deckId) {
         log.info("Adding deck to folder: deckId={}, folderId={}", deckId, folderId);
         
-        // Verify folder ownership
-        verifyFolderOwnership(user.getId(), folderId);
-        
-        // Verify deck ownership
-        Deck deck = deckRepository.findByIdAndUserId(deckId, user.getId())
-                .orElseThrow(() -> new UnauthorizedException("Deck not found or access denied"));
+        BulkUpdateResponse result = moveDecks(user, folderId, List.of(deckId));
         
-        deck.setFolderId(folderId);
-        deckRepository.save(deck);
+        // 0 rows: either already in the folder or not the user's deck
+        if (result.getAffectedCount() == 0 && !deckRepository.existsByIdAndUserId(deckId, user.getId())) {
+            throw new UnauthorizedException("Deck not found or access denied");
+        }
         
         log.info("Deck added to folder: deckId={}, folderId={}", deckId, folderId);
     }
@@ -149,11 +269,12 @@ public class FolderService {
     public void removeDeckFromFolder(User user, UUID deckId) {
         log.info("Removing deck from folder: deckId={}", deckId);
         
-        Deck deck = deckRepository.findByIdAndUserId(deckId, user.getId())
-                .orElseThrow(() -> new UnauthorizedException("Deck not found or access denied"));
+        BulkUpdateResponse result = moveDecks(user, null, List.of(deckId));
         
-        deck.setFolderId(null);
-        deckRepository.save(deck);
+        // 0 rows: either already uncategorized or not the user's deck
+        if (result.getAffectedCount() == 0 && !deckRepository.existsByIdAndUserId(deckId, user.getId())) {
+            throw new UnauthorizedException("Deck not found or access denied");
+        }
         
         log.info("Deck removed from folder: deckId={}", deckId);
     }
@@ -174,25 +295,26 @@ public class FolderService {
     
     /**
      * Update folder last viewed timestamp
-     * Uses native query to avoid triggering @UpdateTimestamp on updatedAt
+     * Buffered in memory and written in batches by LastViewedBuffer;
+     * ownership is enforced by the batched UPDATE
      */
-    @Transactional
     public void updateLastViewed(User user, UUID folderId) {
-        log.info("Updating folder last viewed: folderId={}, userId={}", folderId, user.getId());
-        
-        // Use native query to update only last_viewed_at without triggering updated_at
-        int rowsUpdated = folderRepository.updateLastViewedAt(
-            folderId, 
-            user.getId(), 
-            java.time.Instant.now()
-        );
-        
-        if (rowsUpdated == 0) {
-            log.warn("Failed to update last viewed: folderId={}, userId={}", folderId, user.getId());
-            throw new FolderNotFoundException("Folder not found or access denied");
-        }
+        log.debug("Recording folder view: folderId={}, userId={}", folderId, user.getId());
         
-        log.debug("Folder last viewed updated: folderId={}", folderId);
+        lastViewedBuffer.record(LastViewedRepository.Target.FOLDER, folderId, user.getId(), Instant.now());
+    }
+
+    /**
+     * De-duplicate request ids (null-safe) for ANY(...) parameters
+     */
+    private UUID[] distinctIds(List<UUID> ids) {
+        if (ids == null) {
+            return new UUID[0];
+        }
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray(UUID[]::new);
     }
     
     /**
@@ -214,14 +336,12 @@ public class FolderService {
                 .userId(folder.getUserId().toString())
                 .createdAt(folder.getCreatedAt())
                 .updatedAt(folder.getUpdatedAt())
-                .lastViewedAt(folder.getLastViewedAt());
-        
-        // Count decks in folder
-        List<Deck> decksInFolder = deckRepository.findByFolderIdAndUserId(folder.getId(), folder.getUserId());
-        builder.deckCount(decksInFolder.size());
+                .lastViewedAt(folder.getLastViewedAt())
+                .deckCount(folder.getDeckCount());
         
         // Include decks if requested
         if (includeDecks) {
+            List<Deck> decksInFolder = deckRepository.findByFolderIdAndUserId(folder.getId(), folder.getUserId());
             List<DeckResponse> deckResponses = decksInFolder.stream()
                     .map(deckService::toDeckResponse)
                     .collect(Collectors.toList());
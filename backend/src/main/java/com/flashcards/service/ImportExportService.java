@@ -9,6 +9,7 @@ import com.flashcards.model.entity.Deck;
 import com.flashcards.model.entity.User;
 import com.flashcards.repository.CardRepository;
 import com.flashcards.repository.DeckRepository;
+import com.flashcards.util.HtmlText;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -130,9 +131,9 @@ public class ImportExportService {
         
         // Add cards
         for (Card card : cards) {
-            csv.append(escapeCsv(card.getTerm())).append(",");
-            csv.append(escapeCsv(card.getDefinition())).append(",");
-            csv.append(escapeCsv(card.getExample() != null ? card.getExample() : "")).append("\n");
+            appendCsv(csv, termText(card)).append(",");
+            appendCsv(csv, definitionText(card)).append(",");
+            appendCsv(csv, HtmlText.extract(card.getExample())).append("\n");
         }
         
         log.info("Exported {} cards from deck {}", cards.size(), deckId);
@@ -153,9 +154,9 @@ public class ImportExportService {
         
         // Quizlet format: Term [TAB] Definition
         for (Card card : cards) {
-            text.append(stripHtml(card.getTerm()))
+            text.append(termText(card))
                 .append("\t")
-                .append(stripHtml(card.getDefinition()))
+                .append(definitionText(card))
                 .append("\n");
         }
         
@@ -207,27 +208,37 @@ public class ImportExportService {
     }
     
     /**
-     * Escape CSV special characters
+     * Append a plain-text value to the CSV, escaping special characters
+     * Quotes the value only if it contains comma, quote, or newline
      */
-    private String escapeCsv(String value) {
-        if (value == null) return "";
-        
-        // Strip HTML tags
-        value = stripHtml(value);
-        
-        // Escape quotes and wrap in quotes if contains comma, quote, or newline
-        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
-            value = "\"" + value.replace("\"", "\"\"") + "\"";
+    private StringBuilder appendCsv(StringBuilder csv, String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return csv.append(value);
         }
         
-        return value;
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+    
+    /**
+     * Plain-text term stored at write time
+     * Falls back to stripping HTML for rows written before term_text existed
+     */
+    private String termText(Card card) {
+        return card.getTermText() != null ? card.getTermText() : HtmlText.extract(card.getTerm());
     }
     
     /**
-     * Strip HTML tags from text
+     * Plain-text definition stored at write time
      */
-    private String stripHtml(String html) {
-        if (html == null) return "";
-        return html.replaceAll("<[^>]*>", "").trim();
+    private String definitionText(Card card) {
+        return card.getDefinitionText() != null ? card.getDefinitionText() : HtmlText.extract(card.getDefinition());
     }
 }
@@ -0,0 +1,110 @@
+package com.flashcards.service;
+
+import com.flashcards.model.entity.User;
+import com.flashcards.repository.CardProgressRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Interval Fuzz Service
+ * Load-balances SM-2 intervals so cards learned together drift apart
+ *
+ * SM-2 intervals are deterministic whole days, so cards added and graded
+ * together stay due on the same days forever. When enabled, an interval is
+ * moved to the least-loaded day within a tolerance window around it, using the
+ * user's due-day histogram (local days in the user's time zone):
+ * - window = interval ± max(1, round(interval * fraction)), capped at max-days
+ * - ties go to the day closest to the original interval, then the earlier one
+ * - intervals below min-interval are kept (short steps must stay exact)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IntervalFuzzService {
+
+    private final CardProgressRepository cardProgressRepository;
+    private final DailyActivityService dailyActivityService;
+
+    @Value("${app.review.fuzz.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.review.fuzz.min-interval:3}")
+    private int minInterval;
+
+    @Value("${app.review.fuzz.fraction:0.1}")
+    private double fraction;
+
+    @Value("${app.review.fuzz.max-days:7}")
+    private int maxDays;
+
+    /**
+     * Pick the least-loaded interval near the SM-2 interval
+     *
+     * @param user User reviewing
+     * @param cardId Card being rescheduled (excluded from the histogram)
+     * @param reviewTime Review time (interval day 0)
+     * @param interval SM-2 interval in days
+     * @return Interval to use (the input when fuzzing is off or does not apply)
+     */
+    public int fuzz(User user, UUID cardId, Instant reviewTime, int interval) {
+        if (!enabled || interval < minInterval) {
+            return interval;
+        }
+
+        int delta = tolerance(interval);
+        int lo = Math.max(SchedulingParameters.MIN_INTERVAL, interval - delta);
+        int hi = interval + delta;
+
+        ZoneId zone = user.getTimeZone() != null
+                ? ZoneId.of(user.getTimeZone())
+                : dailyActivityService.defaultZone();
+        LocalDate firstDay = localDay(reviewTime, lo, zone);
+        LocalDate lastDay = localDay(reviewTime, hi, zone);
+        Instant from = firstDay.atStartOfDay(zone).toInstant();
+        Instant to = lastDay.plusDays(1).atStartOfDay(zone).toInstant();
+
+        List<Object[]> rows = cardProgressRepository.countDueByDay(user.getId(), cardId, from, to, zone.getId());
+        long[] load = new long[(int) ChronoUnit.DAYS.between(firstDay, lastDay) + 1];
+        for (Object[] row : rows) {
+            int offset = ((Number) row[0]).intValue();
+            if (offset >= 0 && offset < load.length) {
+                load[offset] = ((Number) row[1]).longValue();
+            }
+        }
+
+        int best = interval;
+        long bestLoad = Long.MAX_VALUE;
+        for (int candidate = lo; candidate <= hi; candidate++) {
+            int offset = (int) ChronoUnit.DAYS.between(firstDay, localDay(reviewTime, candidate, zone));
+            long candidateLoad = load[offset];
+            if (candidateLoad < bestLoad
+                    || (candidateLoad == bestLoad
+                        && Math.abs(candidate - interval) < Math.abs(best - interval))) {
+                best = candidate;
+                bestLoad = candidateLoad;
+            }
+        }
+
+        log.debug("Fuzzed interval for card {}: {} -> {} (window {}..{}, load {})",
+                  cardId, interval, best, lo, hi, bestLoad);
+        return best;
+    }
+
+    private int tolerance(int interval) {
+        int delta = Math.max(1, (int) Math.round(interval * fraction));
+        return Math.min(delta, Math.max(1, maxDays));
+    }
+
+    private static LocalDate localDay(Instant reviewTime, int intervalDays, ZoneId zone) {
+        return reviewTime.plus(intervalDays, ChronoUnit.DAYS).atZone(zone).toLocalDate();
+    }
+}
@@ -0,0 +1,102 @@
+package com.flashcards.service;
+
+import com.flashcards.repository.LastViewedRepository;
+import com.flashcards.repository.LastViewedRepository.Target;
+import com.flashcards.repository.LastViewedRepository.View;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Last Viewed Buffer
+ * Write-behind buffer for deck/folder "last viewed" timestamps
+ *
+ * View clicks only update an in-memory map keyed by (target, id, user),
+ * keeping the latest timestamp. A scheduled flush drains the map and writes
+ * every pending view with one batched UPDATE per table, so any number of
+ * clicks on the same deck between flushes costs a single row write.
+ * Pending views are flushed on shutdown; a crash loses at most one interval.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LastViewedBuffer {
+
+    private final LastViewedRepository lastViewedRepository;
+
+    private final ConcurrentHashMap<Key, Instant> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+
+    private record Key(Target target, UUID id, UUID userId) {
+    }
+
+    /**
+     * Record a view (non-blocking, no database access)
+     * Ownership is enforced when the view is flushed
+     */
+    public void record(Target target, UUID id, UUID userId, Instant viewedAt) {
+        keepLatest(new Key(target, id, userId), viewedAt);
+        recorded.incrementAndGet();
+    }
+
+    private void keepLatest(Key key, Instant viewedAt) {
+        pending.merge(key, viewedAt, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    /**
+     * Flush pending views to the database
+     * Runs every app.last-viewed.flush-interval-ms (default 5s)
+     */
+    @Scheduled(fixedDelayString = "${app.last-viewed.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Drain: each entry is removed atomically, so views recorded
+        // during the flush simply land in the next one
+        Map<Target, List<View>> batches = new EnumMap<>(Target.class);
+        for (Key key : pending.keySet()) {
+            Instant viewedAt = pending.remove(key);
+            if (viewedAt != null) {
+                batches.computeIfAbsent(key.target(), t -> new ArrayList<>())
+                        .add(new View(key.id(), key.userId(), viewedAt));
+            }
+        }
+
+        batches.forEach((target, views) -> {
+            try {
+                int updated = lastViewedRepository.batchUpdateLastViewedAt(target, views);
+                written.addAndGet(updated);
+                log.debug("Flushed {} {} views ({} rows updated)", views.size(), target, updated);
+            } catch (RuntimeException e) {
+                // Put the views back so the next flush retries them
+                log.error("Failed to flush {} {} views: {}", views.size(), target, e.getMessage());
+                views.forEach(view -> keepLatest(new Key(target, view.id(), view.userId()), view.viewedAt()));
+            }
+        });
+    }
+
+    /**
+     * Write remaining views before the application stops
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing last viewed buffer on shutdown: {} pending", pending.size());
+        flush();
+        log.info("Last viewed buffer: {} views recorded, {} rows written", recorded.get(), written.get());
+    }
+}
@@ -0,0 +1,113 @@
+package com.flashcards.service;
+
+import com.flashcards.dto.response.BulkUpdateResponse;
+import com.flashcards.exception.DeckNotFoundException;
+import com.flashcards.model.entity.User;
+import com.flashcards.repository.CardProgressBulkRepository;
+import com.flashcards.repository.DeckProgressCounterRepository;
+import com.flashcards.repository.DeckRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Reschedule Service
+ * Bulk postpone / spread / reset of card progress, e.g. after a vacation
+ * Each operation is one set-based statement (CardProgressBulkRepository);
+ * statistics caches are evicted after commit
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RescheduleService {
+
+    public static final int MAX_DAYS = 365;
+
+    private final CardProgressBulkRepository bulkRepository;
+    private final DeckRepository deckRepository;
+    private final DeckProgressCounterRepository deckProgressCounterRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Postpone all due cards by N days
+     *
+     * @param user Authenticated user
+     * @param deckId Limit to one deck (null = all decks)
+     * @param days Days to postpone (1-365)
+     */
+    @Transactional
+    public BulkUpdateResponse postponeDue(User user, UUID deckId, int days) {
+        validateDays(days);
+        verifyDeck(user.getId(), deckId);
+
+        int affected = bulkRepository.postponeDue(user.getId(), deckId, days, Instant.now());
+        log.info("Postponed {} due cards by {} days: userId={}, deckId={}", affected, days, user.getId(), deckId);
+        return finish(user.getId(), deckId, affected);
+    }
+
+    /**
+     * Spread overdue cards evenly over the next N days, most overdue first
+     *
+     * @param user Authenticated user
+     * @param deckId Limit to one deck (null = all decks)
+     * @param days Days to spread over (1-365)
+     */
+    @Transactional
+    public BulkUpdateResponse spreadOverdue(User user, UUID deckId, int days) {
+        validateDays(days);
+        verifyDeck(user.getId(), deckId);
+
+        int affected = bulkRepository.spreadOverdue(user.getId(), deckId, days, Instant.now());
+        log.info("Spread {} overdue cards over {} days: userId={}, deckId={}", affected, days, user.getId(), deckId);
+        return finish(user.getId(), deckId, affected);
+    }
+
+    /**
+     * Reset all progress of a deck: every card becomes NEW again
+     * Mastery counters are moved to NEW in the same transaction
+     *
+     * @param user Authenticated user
+     * @param deckId Deck to reset
+     */
+    @Transactional
+    public BulkUpdateResponse resetDeckProgress(User user, UUID deckId) {
+        verifyDeck(user.getId(), deckId);
+
+        int affected = bulkRepository.resetDeck(user.getId(), deckId, SchedulingParameters.INITIAL_EASE_FACTOR);
+        if (affected > 0) {
+            deckProgressCounterRepository.resetToNew(user.getId(), deckId);
+        }
+        log.info("Reset progress of {} cards: userId={}, deckId={}", affected, user.getId(), deckId);
+        return finish(user.getId(), deckId, affected);
+    }
+
+    /**
+     * Evict statistics caches (after commit) and build the response
+     */
+    private BulkUpdateResponse finish(UUID userId, UUID deckId, int affected) {
+        if (affected > 0) {
+            eventPublisher.publishEvent(StatisticsChangedEvent.review(userId, deckId));
+        }
+        return BulkUpdateResponse.builder()
+                .affectedCount(affected)
+                .build();
+    }
+
+    private void validateDays(int days) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("days must be between 1 and " + MAX_DAYS);
+        }
+    }
+
+    private void verifyDeck(UUID userId, UUID deckId) {
+        if (deckId != null && deckRepository.findByIdAndUserId(deckId, userId).isEmpty()) {
+            log.warn("Deck not found or unauthorized: deckId={}, userId={}", deckId, userId);
+            throw new DeckNotFoundException(deckId);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.flashcards.service;
+
+import com.flashcards.dto.response.RetentionSummaryResponse;
+import com.flashcards.model.enums.Grade;
+import com.flashcards.repository.StudyLogRepositoryCustom;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Single-pass retention accumulator over reviews ordered by (card_id, reviewed_at)
+ * Only primitive counters are kept, plus one long[] of curve buckets per deck;
+ * the previous review of the current card is the only per-card state.
+ *
+ * Instances are cached between requests and extended incrementally, so every
+ * pass must be run while holding the instance's monitor. Logs inserted inside the
+ * rescan window are remembered by id, so a later pass that scans the window again
+ * (to pick up transactions that committed late) does not count them twice.
+ */
+final class RetentionAccumulator implements StudyLogRepositoryCustom.ReviewRowHandler {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /**
+     * Forgetting-curve buckets by elapsed days: [1,2) [2,4) [4,8) ... [128,+inf)
+     */
+    private static final int BUCKETS = 8;
+
+    // Totals
+    private long totalReviews;
+    private long cardsReviewed;
+    private long recallReviews;
+    private long recallPassed;
+    private long lapses;
+    private long lapseElapsedMillis;
+
+    /**
+     * Per deck: [reviews, recalled] for each bucket, interleaved
+     */
+    private final Map<UUID, long[]> curves = new HashMap<>();
+
+    private Instant processedUntil;
+
+    /**
+     * Streamed logs inserted after the rescan window start: id -> created_at millis
+     */
+    private final Map<UUID, Long> recentLogs = new HashMap<>();
+
+    private long rescanFromMillis;
+
+    // Per-pass state: the previous review of the current card
+    private UUID currentCard;
+    private boolean hasPrevious;
+    private boolean previousPassed;
+    private long previousReviewedAt;
+
+    Instant getProcessedUntil() {
+        return processedUntil;
+    }
+
+    /**
+     * Ids of the logs already counted that were inserted after the current rescan window start
+     */
+    List<UUID> getRecentLogIds() {
+        return List.copyOf(recentLogs.keySet());
+    }
+
+    /**
+     * Reset per-card state before streaming rows
+     *
+     * @param rescanFrom Start of the window the next pass will scan again
+     */
+    void beginPass(Instant rescanFrom) {
+        currentCard = null;
+        hasPrevious = false;
+        rescanFromMillis = rescanFrom.toEpochMilli();
+    }
+
+    /**
+     * Record the checkpoint once a pass has completed
+     */
+    void endPass(Instant until) {
+        processedUntil = until;
+        currentCard = null;
+        recentLogs.values().removeIf(createdAt -> createdAt <= rescanFromMillis);
+    }
+
+    @Override
+    public void logStreamed(UUID logId, long createdAtMillis) {
+        if (createdAtMillis > rescanFromMillis) {
+            recentLogs.put(logId, createdAtMillis);
+        }
+    }
+
+    @Override
+    public void accept(UUID cardId, UUID deckId, Grade grade, long reviewedAtMillis, boolean seed) {
+        boolean passed = grade != Grade.AGAIN;
+
+        if (!cardId.equals(currentCard)) {
+            currentCard = cardId;
+            hasPrevious = false;
+            if (!seed) {
+                // First log of a card never seen before
+                cardsReviewed++;
+            }
+        }
+
+        if (!seed) {
+            totalReviews++;
+            if (hasPrevious) {
+                long elapsed = reviewedAtMillis - previousReviewedAt;
+                if (elapsed >= MILLIS_PER_DAY) {
+                    recallReviews++;
+                    if (passed) {
+                        recallPassed++;
+                    }
+                    long[] curve = curves.computeIfAbsent(deckId, id -> new long[BUCKETS * 2]);
+                    int bucket = bucketOf(elapsed / MILLIS_PER_DAY);
+                    curve[bucket * 2]++;
+                    if (passed) {
+                        curve[bucket * 2 + 1]++;
+                    }
+                }
+                if (!passed && previousPassed) {
+                    lapses++;
+                    lapseElapsedMillis += elapsed;
+                }
+            }
+        }
+
+        hasPrevious = true;
+        previousPassed = passed;
+        previousReviewedAt = reviewedAtMillis;
+    }
+
+    /**
+     * floor(log2(days)), capped at the last bucket (days >= 1)
+     */
+    private static int bucketOf(long days) {
+        return Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(days));
+    }
+
+    RetentionSummaryResponse toResponse() {
+        List<RetentionSummaryResponse.DeckForgettingCurve> decks = new ArrayList<>(curves.size());
+        for (Map.Entry<UUID, long[]> entry : curves.entrySet()) {
+            long[] curve = entry.getValue();
+            List<RetentionSummaryResponse.CurvePoint> points = new ArrayList<>(BUCKETS);
+            long deckReviews = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                long reviews = curve[bucket * 2];
+                long recalled = curve[bucket * 2 + 1];
+                deckReviews += reviews;
+                points.add(RetentionSummaryResponse.CurvePoint.builder()
+                        .minDays(1 << bucket)
+                        .maxDays(bucket < BUCKETS - 1 ? 1 << (bucket + 1) : null)
+                        .reviews(reviews)
+                        .recalled(recalled)
+                        .retentionRate(percentage(recalled, reviews))
+                        .build());
+            }
+            decks.add(RetentionSummaryResponse.DeckForgettingCurve.builder()
+                    .deckId(entry.getKey())
+                    .recallReviews(deckReviews)
+                    .points(points)
+                    .build());
+        }
+        decks.sort((a, b) -> Long.compare(b.getRecallReviews(), a.getRecallReviews()));
+
+        return RetentionSummaryResponse.builder()
+                .totalReviews(totalReviews)
+                .cardsReviewed(cardsReviewed)
+                .recallReviews(recallReviews)
+                .trueRetentionRate(percentage(recallPassed, recallReviews))
+                .lapses(lapses)
+                .lapsesPerCard(cardsReviewed > 0 ? (double) lapses / cardsReviewed : null)
+                .averageIntervalAtLapseDays(lapses > 0
+                        ? (double) lapseElapsedMillis / lapses / MILLIS_PER_DAY
+                        : null)
+                .decks(decks)
+                .processedUntil(processedUntil)
+                .build();
+    }
+
+    private static Double percentage(long part, long total) {
+        return total > 0 ? part * 100.0 / total : null;
+    }
+}
@@ -0,0 +1,80 @@
+package com.flashcards.service;
+
+import com.flashcards.config.CacheConfig;
+import com.flashcards.dto.response.RetentionSummaryResponse;
+import com.flashcards.repository.StudyLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Retention Analytics Service
+ * True retention, lapses and per-deck forgetting curves computed by streaming
+ * the review history once through a RetentionAccumulator
+ *
+ * The accumulator is cached per user together with a checkpoint (the created_at
+ * bound of the last pass). created_at is assigned before commit, so a log can
+ * become visible after a later checkpoint; each refresh therefore scans again
+ * from RESCAN_WINDOW before the checkpoint and skips the log ids it already
+ * counted, plus one seed log per touched card for the elapsed interval.
+ * Offline logs synced with an old reviewed_at are counted against the card's
+ * latest known review; {@code rebuild=true} recomputes from scratch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RetentionAnalyticsService {
+
+    /**
+     * How far before the checkpoint each refresh scans again
+     * Covers transactions that commit late and clock skew between instances;
+     * a log committed later than this after its created_at is only counted by a rebuild
+     */
+    private static final Duration RESCAN_WINDOW = Duration.ofMinutes(10);
+
+    private final StudyLogRepository studyLogRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Get the retention summary, refreshing the cached accumulator with new logs
+     *
+     * @param userId User ID
+     * @param rebuild Discard the cached accumulator and scan the full history
+     */
+    @Transactional(readOnly = true)
+    public RetentionSummaryResponse getRetentionSummary(UUID userId, boolean rebuild) {
+        Cache cache = cacheManager.getCache(CacheConfig.RETENTION);
+        StatisticsCacheKey key = StatisticsCacheKey.of(userId);
+        if (rebuild) {
+            cache.evict(key);
+        }
+        RetentionAccumulator accumulator = cache.get(key, RetentionAccumulator::new);
+
+        synchronized (accumulator) {
+            Instant checkpoint = accumulator.getProcessedUntil();
+            Instant after = checkpoint != null ? checkpoint.minus(RESCAN_WINDOW) : null;
+            Instant until = Instant.now();
+            accumulator.beginPass(until.minus(RESCAN_WINDOW));
+            long rows;
+            try {
+                rows = studyLogRepository.streamReviewHistory(userId, after, until,
+                        accumulator.getRecentLogIds(), accumulator);
+            } catch (RuntimeException e) {
+                // A partial pass would be counted twice by the next refresh
+                cache.evict(key);
+                throw e;
+            }
+            accumulator.endPass(until);
+            log.info("Retention analytics refreshed: userId={}, incremental={}, rows={}",
+                    userId, after != null, rows);
+            return accumulator.toResponse();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.flashcards.service;
+
+import com.flashcards.model.enums.Grade;
+import com.flashcards.repository.StudyLogRepositoryCustom;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * One user's review history in primitive arrays, grouped by card in review order
+ * Filled from StudyLogRepositoryCustom#streamReviewHistory; review i is
+ * (grades[i], elapsedDays[i]) where elapsedDays is the time since the card's
+ * previous review, or -1 for the card's first review
+ */
+final class ReviewHistory implements StudyLogRepositoryCustom.ReviewRowHandler {
+
+    private static final double MILLIS_PER_DAY = 86_400_000.0;
+
+    private static final Grade[] GRADES = Grade.values();
+
+    private byte[] grades = new byte[256];
+    private float[] elapsedDays = new float[256];
+    private int size;
+
+    private UUID currentCard;
+    private long previousReviewedAt;
+
+    @Override
+    public void accept(UUID cardId, UUID deckId, Grade grade, long reviewedAtMillis, boolean seed) {
+        if (size == grades.length) {
+            grades = Arrays.copyOf(grades, size * 2);
+            elapsedDays = Arrays.copyOf(elapsedDays, size * 2);
+        }
+        if (cardId.equals(currentCard)) {
+            elapsedDays[size] = (float) ((reviewedAtMillis - previousReviewedAt) / MILLIS_PER_DAY);
+        } else {
+            currentCard = cardId;
+            elapsedDays[size] = -1f;
+        }
+        grades[size] = (byte) grade.ordinal();
+        previousReviewedAt = reviewedAtMillis;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Grade grade(int i) {
+        return GRADES[grades[i]];
+    }
+
+    /**
+     * Days since the card's previous review, negative for the card's first review
+     */
+    float elapsedDays(int i) {
+        return elapsedDays[i];
+    }
+}
@@ -9,12 +9,15 @@ import com.flashcards.model.entity.StudyLog;
 import com.flashcards.model.entity.User;
 import com.flashcards.model.enums.Grade;
 import com.flashcards.model.enums.LearningState;
+import com.flashcards.model.enums.MasteryLevel;
 import com.flashcards.repository.CardProgressRepository;
 import com.flashcards.repository.CardRepository;
 import com.flashcards.repository.DeckRepository;
 import com.flashcards.repository.StudyLogRepository;
+import com.flashcards.repository.UserSchedulerParametersRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -41,10 +44,11 @@ public class ReviewService {
     private final DeckRepository deckRepository;
     private final CardProgressRepository cardProgressRepository;
     private final StudyLogRepository studyLogRepository;
-
-    // SM-2 Algorithm Constants
-    private static final float MIN_EASE_FACTOR = 1.3f;
-    private static final int MIN_INTERVAL = 1;
+    private final DeckProgressService deckProgressService;
+    private final DailyActivityService dailyActivityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserSchedulerParametersRepository schedulerParametersRepository;
+    private final IntervalFuzzService intervalFuzzService;
 
     /**
      * Review a card and update its progress using SM-2 algorithm
@@ -71,9 +75,15 @@ public class ReviewService {
         int currentInterval = progress.getInterval();
         int currentRepetitions = progress.getRepetitions();
         float currentEaseFactor = progress.getEaseFactor();
+        MasteryLevel previousLevel = DeckProgressService.levelOf(progress);
 
-        // Step 4: Apply SM-2 Algorithm based on grade
-        applySmAlgorithm(progress, grade, currentInterval, currentRepetitions, currentEaseFactor);
+        // Step 4: Apply SM-2 Algorithm based on grade, with the user's fitted parameters
+        SchedulingParameters params = schedulerParametersRepository.findByUserId(user.getId())
+                .map(SchedulingParameters::of)
+                .orElse(SchedulingParameters.DEFAULTS);
+        applySmAlgorithm(progress, grade, currentInterval, currentRepetitions, currentEaseFactor, params);
+        // Move the interval to the least-loaded nearby day (no-op unless fuzzing is enabled)
+        progress.setInterval(intervalFuzzService.fuzz(user, cardId, reviewTime, progress.getInterval()));
 
         // Step 5: Set next review date
         progress.setNextReview(reviewTime.plus(progress.getInterval(), ChronoUnit.DAYS));
@@ -86,9 +96,16 @@ public class ReviewService {
                  cardId, savedProgress.getLearningState(), savedProgress.getInterval(), 
                  savedProgress.getEaseFactor(), savedProgress.getNextReview());
 
-        // Step 7: Save StudyLog
+        // Step 7: Keep the deck's mastery counters in sync
+        deckProgressService.levelChanged(user.getId(), card.getDeckId(),
+                previousLevel, DeckProgressService.levelOf(savedProgress));
+
+        // Step 8: Save StudyLog
         saveStudyLog(user.getId(), cardId, grade, reviewTime);
 
+        // Step 9: Invalidate cached statistics (after commit)
+        eventPublisher.publishEvent(StatisticsChangedEvent.review(user.getId(), card.getDeckId()));
+
         return savedProgress;
     }
 
@@ -141,7 +158,7 @@ public class ReviewService {
                             .learningState(LearningState.NEW)
                             .interval(0)
                             .repetitions(0)
-                            .easeFactor(2.5f)
+                            .easeFactor(SchedulingParameters.INITIAL_EASE_FACTOR)
                             .nextReview(null)
                             .build();
                 });
@@ -149,70 +166,33 @@ public class ReviewService {
 
     /**
      * Apply SM-2 Algorithm to update card progress based on grade
+     * Interval and ease factor come from the user's SchedulingParameters
+     * (fitted per user by SchedulerOptimizerService, SM-2 defaults otherwise)
      * 
      * SM-2 Algorithm Rules:
      * - AGAIN (0): Failed, reset repetitions, short interval, decrease EF
      * - HARD (2): Barely passed, minimal interval increase, small EF decrease
      * - GOOD (3): Normal success, interval grows by EF
-     * - EASY (4): Perfect recall, interval grows by EF * 1.3, increase EF
+     * - EASY (4): Perfect recall, interval grows by EF * easy bonus, increase EF
      */
     private void applySmAlgorithm(CardProgress progress, Grade grade, 
                                   int currentInterval, int currentRepetitions, 
-                                  float currentEaseFactor) {
-        
-        int newInterval;
+                                  float currentEaseFactor, SchedulingParameters params) {
+
+        int newInterval = params.nextInterval(grade, currentInterval, currentEaseFactor);
+        float newEaseFactor = params.nextEaseFactor(grade, currentEaseFactor);
         int newRepetitions;
-        float newEaseFactor;
         LearningState newState;
 
-        switch (grade) {
-            case AGAIN:
-                // Complete failure - reset to relearning
-                newRepetitions = 0;
-                newInterval = MIN_INTERVAL; // 1 day
-                newEaseFactor = Math.max(MIN_EASE_FACTOR, currentEaseFactor - 0.2f);
-                newState = LearningState.RELEARNING;
-                log.debug("AGAIN: Reset card - interval={}, easeFactor={}", newInterval, newEaseFactor);
-                break;
-
-            case HARD:
-                // Difficult but correct - minimal increase
-                newRepetitions = currentRepetitions + 1;
-                newInterval = Math.max(MIN_INTERVAL, (int) Math.ceil(currentInterval * 1.2));
-                newEaseFactor = Math.max(MIN_EASE_FACTOR, currentEaseFactor - 0.15f);
-                newState = LearningState.REVIEWING;
-                log.debug("HARD: Slow growth - interval={}, easeFactor={}", newInterval, newEaseFactor);
-                break;
-
-            case GOOD:
-                // Normal success - standard SM-2 growth
-                newRepetitions = currentRepetitions + 1;
-                if (currentInterval == 0) {
-                    newInterval = MIN_INTERVAL;
-                } else {
-                    newInterval = Math.max(MIN_INTERVAL, (int) Math.ceil(currentInterval * currentEaseFactor));
-                }
-                newEaseFactor = currentEaseFactor; // Keep same
-                newState = LearningState.REVIEWING;
-                log.debug("GOOD: Normal growth - interval={}, easeFactor={}", newInterval, newEaseFactor);
-                break;
-
-            case EASY:
-                // Perfect recall - accelerated growth
-                newRepetitions = currentRepetitions + 1;
-                if (currentInterval == 0) {
-                    newInterval = MIN_INTERVAL * 2;
-                } else {
-                    newInterval = Math.max(MIN_INTERVAL, (int) Math.ceil(currentInterval * currentEaseFactor * 1.3));
-                }
-                newEaseFactor = currentEaseFactor + 0.15f;
-                newState = LearningState.REVIEWING;
-                log.debug("EASY: Fast growth - interval={}, easeFactor={}", newInterval, newEaseFactor);
-                break;
-
-            default:
-                throw new IllegalArgumentException("Invalid grade: " + grade);
+        if (grade == Grade.AGAIN) {
+            // Complete failure - reset to relearning
+            newRepetitions = 0;
+            newState = LearningState.RELEARNING;
+        } else {
+            newRepetitions = currentRepetitions + 1;
+            newState = LearningState.REVIEWING;
         }
+        log.debug("{}: interval={}, easeFactor={}", grade, newInterval, newEaseFactor);
 
         // Update progress object
         progress.setRepetitions(newRepetitions);
@@ -235,6 +215,7 @@ public class ReviewService {
                 .build();
 
         studyLogRepository.save(log);
+        dailyActivityService.recordActivity(userId, reviewTime, null);
         this.log.debug("Saved study log: userId={}, cardId={}, grade={}, action=REVIEW", userId, cardId, grade);
     }
 
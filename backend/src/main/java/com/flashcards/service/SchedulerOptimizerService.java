@@ -0,0 +1,199 @@
+package com.flashcards.service;
+
+import com.flashcards.model.entity.UserSchedulerParameters;
+import com.flashcards.repository.StudyLogRepository;
+import com.flashcards.repository.UserSchedulerParametersRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scheduler Optimizer Service
+ * Nightly job fitting per-user SM-2 parameters (SchedulingParameters) from
+ * study_log history; ReviewService schedules with the stored values
+ *
+ * - Candidates come from the daily rollup: users with enough reviews and new
+ *   reviews since their last fit
+ * - Users are fitted in parallel on a ForkJoinPool (app.scheduler-optimizer.parallelism);
+ *   each task streams one user's history into primitive arrays and replays it
+ * - Users not started before app.scheduler-optimizer.max-duration are left for the
+ *   next night, so the job always ends inside its window
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SchedulerOptimizerService {
+
+    private final StudyLogRepository studyLogRepository;
+    private final UserSchedulerParametersRepository parametersRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Users fitted concurrently (each holds a DB connection while its history streams)
+     */
+    @Value("${app.scheduler-optimizer.parallelism:2}")
+    private int parallelism;
+
+    @Value("${app.scheduler-optimizer.max-duration:2h}")
+    private Duration maxDuration;
+
+    /**
+     * Users with fewer reviews keep the SM-2 defaults without being fitted
+     */
+    @Value("${app.scheduler-optimizer.min-reviews:200}")
+    private long minReviews;
+
+    /**
+     * Fits scored on fewer recall reviews than this are discarded
+     */
+    @Value("${app.scheduler-optimizer.min-recall-reviews:100}")
+    private int minRecallReviews;
+
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate transaction;
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Fit every candidate user within the time window
+     * Runs nightly (app.scheduler-optimizer.cron) and can be invoked manually
+     */
+    @Scheduled(cron = "${app.scheduler-optimizer.cron:0 30 4 * * *}")
+    public void optimizeAll() {
+        long start = System.currentTimeMillis();
+        Instant deadline = Instant.now().plus(maxDuration);
+
+        List<UUID> users = readOnlyTransaction.execute(status -> parametersRepository.findUsersToFit(minReviews));
+        if (users == null || users.isEmpty()) {
+            log.info("Scheduler optimizer: no users to fit");
+            return;
+        }
+
+        RunStats stats = new RunStats();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            pool.invoke(new FitTask(users, 0, users.size(), deadline, stats));
+        } finally {
+            pool.shutdown();
+        }
+
+        log.info("Scheduler optimizer finished in {} ms: {} candidates, {} personalized, {} kept defaults, "
+                        + "{} deferred past the deadline, {} failed",
+                System.currentTimeMillis() - start, users.size(), stats.personalized.get(),
+                stats.defaults.get(), stats.deferred.get(), stats.failed.get());
+    }
+
+    /**
+     * Fit and store one user's parameters
+     *
+     * @return true if personalized parameters were stored, false if the defaults were kept
+     */
+    public boolean optimizeUser(UUID userId) {
+        // Reviews written after this instant trigger another fit next night
+        Instant fittedAt = Instant.now();
+
+        ReviewHistory history = new ReviewHistory();
+        readOnlyTransaction.executeWithoutResult(status ->
+                studyLogRepository.streamReviewHistory(userId, null, fittedAt, List.of(), history));
+
+        int recallReviews = SchedulerParameterFitter.countRecallReviews(history);
+        SchedulerParameterFitter.Result result;
+        if (recallReviews < minRecallReviews) {
+            result = new SchedulerParameterFitter.Result(SchedulingParameters.DEFAULTS,
+                    recallReviews, Double.NaN, Double.NaN);
+        } else {
+            result = SchedulerParameterFitter.fit(history);
+        }
+
+        transaction.executeWithoutResult(status -> save(userId, result, fittedAt));
+
+        boolean personalized = !SchedulingParameters.DEFAULTS.equals(result.parameters());
+        log.debug("Fitted scheduler parameters: userId={}, reviews={}, recallReviews={}, logLoss={} (default {}), "
+                        + "personalized={}",
+                userId, history.size(), result.recallReviews(), result.logLoss(), result.defaultLogLoss(),
+                personalized);
+        return personalized;
+    }
+
+    private void save(UUID userId, SchedulerParameterFitter.Result result, Instant fittedAt) {
+        UserSchedulerParameters stored = parametersRepository.findByUserId(userId)
+                .orElseGet(() -> UserSchedulerParameters.builder().userId(userId).build());
+        result.parameters().applyTo(stored);
+        stored.setRecallReviews(result.recallReviews());
+        stored.setLogLoss(Double.isNaN(result.logLoss()) ? null : result.logLoss());
+        stored.setDefaultLogLoss(Double.isNaN(result.defaultLogLoss()) ? null : result.defaultLogLoss());
+        stored.setFittedAt(fittedAt);
+        parametersRepository.save(stored);
+    }
+
+    private static final class RunStats {
+        final AtomicInteger personalized = new AtomicInteger();
+        final AtomicInteger defaults = new AtomicInteger();
+        final AtomicInteger deferred = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+    }
+
+    /**
+     * Splits the user range in halves down to single users
+     */
+    private final class FitTask extends RecursiveAction {
+
+        private final List<UUID> users;
+        private final int from;
+        private final int to;
+        private final Instant deadline;
+        private final RunStats stats;
+
+        FitTask(List<UUID> users, int from, int to, Instant deadline, RunStats stats) {
+            this.users = users;
+            this.from = from;
+            this.to = to;
+            this.deadline = deadline;
+            this.stats = stats;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new FitTask(users, from, mid, deadline, stats),
+                        new FitTask(users, mid, to, deadline, stats));
+                return;
+            }
+
+            UUID userId = users.get(from);
+            if (Instant.now().isAfter(deadline)) {
+                stats.deferred.incrementAndGet();
+                return;
+            }
+            try {
+                if (optimizeUser(userId)) {
+                    stats.personalized.incrementAndGet();
+                } else {
+                    stats.defaults.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                stats.failed.incrementAndGet();
+                log.warn("Scheduler optimizer failed for user {}: {}", userId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.flashcards.service;
+
+import com.flashcards.model.enums.Grade;
+
+/**
+ * Fits SchedulingParameters to one user's review history
+ *
+ * Model: SM-2 schedules a card so that recall is about TARGET_RETENTION when it
+ * comes due, i.e. p(recall) = TARGET_RETENTION ^ (elapsed days / scheduled interval).
+ * Each card's history is replayed with candidate parameters to get the interval
+ * that was "scheduled" before every review, and the parameters are scored by
+ * mean log loss on pass (HARD/GOOD/EASY) vs fail (AGAIN). Only reviews at
+ * least a day after the previous one count; same-day steps say little about memory.
+ *
+ * Search: bounded coordinate descent from the SM-2 defaults, halving the step
+ * size whenever no single-parameter move improves the loss.
+ */
+final class SchedulerParameterFitter {
+
+    static final double TARGET_RETENTION = 0.9;
+
+    private static final double LOG_TARGET = Math.log(TARGET_RETENTION);
+
+    /**
+     * Predictions are clamped away from 0 and 1 so one surprise can't dominate the loss
+     */
+    private static final double MIN_PROBABILITY = 1e-3;
+
+    // Parameter vector: againEaseDelta, hardEaseDelta, easyEaseDelta, minEaseFactor,
+    // hardIntervalMultiplier, easyBonus
+    private static final double[] LOWER = {-0.5, -0.4, 0.0, 1.1, 1.0, 1.0};
+    private static final double[] UPPER = {0.0, 0.0, 0.4, 2.0, 1.8, 2.5};
+    private static final double[] INITIAL_STEP = {0.1, 0.05, 0.05, 0.1, 0.1, 0.1};
+
+    private static final int HALVINGS = 4;
+    private static final int MAX_ROUNDS = 60;
+
+    /**
+     * @param parameters Best parameters found (the defaults when nothing beat them)
+     * @param recallReviews Reviews the loss was computed on
+     * @param logLoss Mean log loss of the returned parameters
+     * @param defaultLogLoss Mean log loss of the SM-2 defaults
+     */
+    record Result(SchedulingParameters parameters, int recallReviews, double logLoss, double defaultLogLoss) {
+    }
+
+    private SchedulerParameterFitter() {
+    }
+
+    /**
+     * Reviews that take part in the loss
+     */
+    static int countRecallReviews(ReviewHistory history) {
+        int count = 0;
+        for (int i = 0; i < history.size(); i++) {
+            if (history.elapsedDays(i) >= 1f) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static Result fit(ReviewHistory history) {
+        int recallReviews = countRecallReviews(history);
+        double defaultLoss = logLoss(history, SchedulingParameters.DEFAULTS);
+
+        double[] best = toVector(SchedulingParameters.DEFAULTS);
+        double bestLoss = defaultLoss;
+        double[] step = INITIAL_STEP.clone();
+
+        int halvings = 0;
+        for (int round = 0; round < MAX_ROUNDS && halvings <= HALVINGS; round++) {
+            boolean improved = false;
+            for (int k = 0; k < best.length; k++) {
+                for (int direction = -1; direction <= 1; direction += 2) {
+                    double value = Math.min(UPPER[k], Math.max(LOWER[k], best[k] + direction * step[k]));
+                    if (value == best[k]) {
+                        continue;
+                    }
+                    double[] candidate = best.clone();
+                    candidate[k] = value;
+                    double loss = logLoss(history, toParameters(candidate));
+                    if (loss < bestLoss) {
+                        best = candidate;
+                        bestLoss = loss;
+                        improved = true;
+                    }
+                }
+            }
+            if (!improved) {
+                halvings++;
+                for (int k = 0; k < step.length; k++) {
+                    step[k] /= 2;
+                }
+            }
+        }
+
+        SchedulingParameters fitted = bestLoss < defaultLoss ? toParameters(best) : SchedulingParameters.DEFAULTS;
+        return new Result(fitted, recallReviews, Math.min(bestLoss, defaultLoss), defaultLoss);
+    }
+
+    /**
+     * Mean log loss of the parameters over the history (NaN without recall reviews)
+     * One pass over the primitive arrays, no allocation
+     */
+    static double logLoss(ReviewHistory history, SchedulingParameters params) {
+        double loss = 0;
+        int count = 0;
+        int interval = 0;
+        float easeFactor = SchedulingParameters.INITIAL_EASE_FACTOR;
+
+        for (int i = 0; i < history.size(); i++) {
+            float elapsed = history.elapsedDays(i);
+            Grade grade = history.grade(i);
+
+            if (elapsed < 0) {
+                // First review of a card: start from a NEW card
+                interval = 0;
+                easeFactor = SchedulingParameters.INITIAL_EASE_FACTOR;
+            } else if (elapsed >= 1f) {
+                double predicted = Math.exp(LOG_TARGET * elapsed / Math.max(SchedulingParameters.MIN_INTERVAL, interval));
+                predicted = Math.min(1 - MIN_PROBABILITY, Math.max(MIN_PROBABILITY, predicted));
+                loss -= grade != Grade.AGAIN ? Math.log(predicted) : Math.log(1 - predicted);
+                count++;
+            }
+
+            interval = params.nextInterval(grade, interval, easeFactor);
+            easeFactor = params.nextEaseFactor(grade, easeFactor);
+        }
+        return count > 0 ? loss / count : Double.NaN;
+    }
+
+    private static double[] toVector(SchedulingParameters params) {
+        return new double[] {
+                params.againEaseDelta(), params.hardEaseDelta(), params.easyEaseDelta(),
+                params.minEaseFactor(), params.hardIntervalMultiplier(), params.easyBonus()
+        };
+    }
+
+    private static SchedulingParameters toParameters(double[] vector) {
+        return new SchedulingParameters((float) vector[0], (float) vector[1], (float) vector[2],
+                (float) vector[3], vector[4], vector[5]);
+    }
+}
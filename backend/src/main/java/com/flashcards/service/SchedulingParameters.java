@@ -0,0 +1,97 @@
+package com.flashcards.service;
+
+import com.flashcards.model.entity.UserSchedulerParameters;
+import com.flashcards.model.enums.Grade;
+
+/**
+ * SM-2 scheduling parameters
+ * {@link #DEFAULTS} are the classic SM-2 constants; per-user values are fitted
+ * from review history by SchedulerOptimizerService
+ *
+ * Interval and ease-factor rules live here so the scheduler (ReviewService)
+ * and the optimizer's replay apply exactly the same arithmetic.
+ *
+ * @param againEaseDelta Ease change on AGAIN
+ * @param hardEaseDelta Ease change on HARD
+ * @param easyEaseDelta Ease change on EASY
+ * @param minEaseFactor Lower bound for the ease factor
+ * @param hardIntervalMultiplier Interval growth on HARD
+ * @param easyBonus Extra interval growth on EASY (on top of the ease factor)
+ */
+public record SchedulingParameters(
+        float againEaseDelta,
+        float hardEaseDelta,
+        float easyEaseDelta,
+        float minEaseFactor,
+        double hardIntervalMultiplier,
+        double easyBonus) {
+
+    public static final SchedulingParameters DEFAULTS =
+            new SchedulingParameters(-0.2f, -0.15f, 0.15f, 1.3f, 1.2, 1.3);
+
+    public static final float INITIAL_EASE_FACTOR = 2.5f;
+    public static final int MIN_INTERVAL = 1;
+
+    /**
+     * Parameters stored for a user
+     */
+    public static SchedulingParameters of(UserSchedulerParameters stored) {
+        return new SchedulingParameters(stored.getAgainEaseDelta(), stored.getHardEaseDelta(),
+                stored.getEasyEaseDelta(), stored.getMinEaseFactor(),
+                stored.getHardIntervalMultiplier(), stored.getEasyBonus());
+    }
+
+    /**
+     * Copy these parameters onto a stored row
+     */
+    public void applyTo(UserSchedulerParameters stored) {
+        stored.setAgainEaseDelta(againEaseDelta);
+        stored.setHardEaseDelta(hardEaseDelta);
+        stored.setEasyEaseDelta(easyEaseDelta);
+        stored.setMinEaseFactor(minEaseFactor);
+        stored.setHardIntervalMultiplier(hardIntervalMultiplier);
+        stored.setEasyBonus(easyBonus);
+    }
+
+    /**
+     * Interval in days after answering with the given grade
+     */
+    public int nextInterval(Grade grade, int currentInterval, float currentEaseFactor) {
+        switch (grade) {
+            case AGAIN:
+                return MIN_INTERVAL;
+            case HARD:
+                return Math.max(MIN_INTERVAL, (int) Math.ceil(currentInterval * hardIntervalMultiplier));
+            case GOOD:
+                if (currentInterval == 0) {
+                    return MIN_INTERVAL;
+                }
+                return Math.max(MIN_INTERVAL, (int) Math.ceil(currentInterval * currentEaseFactor));
+            case EASY:
+                if (currentInterval == 0) {
+                    return MIN_INTERVAL * 2;
+                }
+                return Math.max(MIN_INTERVAL, (int) Math.ceil(currentInterval * currentEaseFactor * easyBonus));
+            default:
+                throw new IllegalArgumentException("Invalid grade: " + grade);
+        }
+    }
+
+    /**
+     * Ease factor after answering with the given grade
+     */
+    public float nextEaseFactor(Grade grade, float currentEaseFactor) {
+        switch (grade) {
+            case AGAIN:
+                return Math.max(minEaseFactor, currentEaseFactor + againEaseDelta);
+            case HARD:
+                return Math.max(minEaseFactor, currentEaseFactor + hardEaseDelta);
+            case GOOD:
+                return currentEaseFactor;
+            case EASY:
+                return currentEaseFactor + easyEaseDelta;
+            default:
+                throw new IllegalArgumentException("Invalid grade: " + grade);
+        }
+    }
+}
@@ -6,16 +6,24 @@ import com.flashcards.dto.response.SearchResultResponse;
 import com.flashcards.model.entity.Card;
 import com.flashcards.model.entity.Deck;
 import com.flashcards.model.entity.User;
+import com.flashcards.model.enums.SearchMode;
 import com.flashcards.repository.CardRepository;
 import com.flashcards.repository.DeckRepository;
+import com.flashcards.repository.SearchHits;
+import com.flashcards.repository.SearchRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -32,21 +40,40 @@ public class SearchService {
     private final CardRepository cardRepository;
     private final DeckService deckService;
     private final CardService cardService;
+    private final SearchRepository searchRepository;
     
     // Limit constants
     private static final int MAX_DECK_RESULTS = 5;
     private static final int MAX_CARD_RESULTS = 10;
     
+    /**
+     * Default minimum word similarity for fuzzy search (0..1)
+     */
+    @Value("${app.search.fuzzy-threshold:0.5}")
+    private double defaultFuzzyThreshold;
+    
+    private volatile Boolean fullTextAvailable;
+    private volatile Boolean trigramAvailable;
+    
     /**
      * Perform global search across decks and cards
      *
      * @param user Current authenticated user
      * @param query Search query string
+     * @param mode Search mode ("fulltext" or "fuzzy"; null = full-text)
+     * @param threshold Minimum word similarity for fuzzy mode (null = app.search.fuzzy-threshold)
      * @return SearchResultResponse containing matching decks and cards
+     * @throws IllegalArgumentException for an unknown mode or a threshold outside 0..1
      */
-    public SearchResultResponse search(User user, String query) {
+    public SearchResultResponse search(User user, String query, String mode, Double threshold) {
         log.debug("Searching for: '{}' - userId: {}", query, user.getId());
         
+        SearchMode searchMode = SearchMode.parse(mode);
+        double similarity = threshold != null ? threshold : defaultFuzzyThreshold;
+        if (!(similarity >= 0 && similarity <= 1)) {
+            throw new IllegalArgumentException("Threshold must be between 0 and 1");
+        }
+        
         // Validate search query
         if (query == null || query.trim().isEmpty()) {
             log.debug("Empty search query, returning empty results");
@@ -60,15 +87,43 @@ public class SearchService {
         
         String searchTerm = query.trim();
         
-        // Search decks (limit to MAX_DECK_RESULTS)
-        Pageable deckPageable = PageRequest.of(0, MAX_DECK_RESULTS);
-        List<Deck> decks = deckRepository.searchDecks(user.getId(), searchTerm, deckPageable);
-        long totalDecks = deckRepository.countSearchDecks(user.getId(), searchTerm);
+        List<Deck> decks;
+        List<Card> cards;
+        long totalDecks;
+        long totalCards;
+        SearchHits deckHits = null;
+        SearchHits cardHits = null;
+        if (searchMode == SearchMode.FUZZY && isTrigramAvailable()) {
+            // Typo-tolerant substring search on the trigram indexes
+            deckHits = searchRepository.fuzzySearchDecks(user.getId(), searchTerm, similarity, MAX_DECK_RESULTS);
+            cardHits = searchRepository.fuzzySearchCards(user.getId(), searchTerm, similarity, MAX_CARD_RESULTS);
+        } else if (searchMode == SearchMode.FULL_TEXT && isFullTextAvailable()) {
+            // Ranked full-text search: one indexed scan per table returns ids and total
+            String tsQuery = SearchRepository.toPrefixQuery(searchTerm);
+            deckHits = tsQuery != null
+                    ? searchRepository.searchDecks(user.getId(), tsQuery, MAX_DECK_RESULTS)
+                    : SearchHits.EMPTY;
+            cardHits = tsQuery != null
+                    ? searchRepository.searchCards(user.getId(), tsQuery, MAX_CARD_RESULTS)
+                    : SearchHits.EMPTY;
+        }
         
-        // Search cards (limit to MAX_CARD_RESULTS)
-        Pageable cardPageable = PageRequest.of(0, MAX_CARD_RESULTS);
-        List<Card> cards = cardRepository.searchCards(user.getId(), searchTerm, cardPageable);
-        long totalCards = cardRepository.countSearchCards(user.getId(), searchTerm);
+        if (deckHits != null) {
+            decks = inRankOrder(deckRepository.findAllById(deckHits.ids()), deckHits.ids(), Deck::getId);
+            cards = inRankOrder(cardRepository.findAllById(cardHits.ids()), cardHits.ids(), Card::getId);
+            totalDecks = deckHits.total();
+            totalCards = cardHits.total();
+        } else {
+            // Search decks (limit to MAX_DECK_RESULTS)
+            Pageable deckPageable = PageRequest.of(0, MAX_DECK_RESULTS);
+            decks = deckRepository.searchDecks(user.getId(), searchTerm, deckPageable);
+            totalDecks = deckRepository.countSearchDecks(user.getId(), searchTerm);
+            
+            // Search cards (limit to MAX_CARD_RESULTS)
+            Pageable cardPageable = PageRequest.of(0, MAX_CARD_RESULTS);
+            cards = cardRepository.searchCards(user.getId(), searchTerm, cardPageable);
+            totalCards = cardRepository.countSearchCards(user.getId(), searchTerm);
+        }
         
         log.debug("Search results: {} decks (total: {}), {} cards (total: {})", 
                 decks.size(), totalDecks, cards.size(), totalCards);
@@ -89,4 +144,47 @@ public class SearchService {
                 .totalCards(totalCards)
                 .build();
     }
+    
+    /**
+     * Whether the full-text columns exist (checked once)
+     * Schemas created by ddl-auto lack them and keep using the LIKE queries
+     */
+    private boolean isFullTextAvailable() {
+        Boolean available = fullTextAvailable;
+        if (available == null) {
+            available = searchRepository.isFullTextAvailable();
+            if (!available) {
+                log.info("Full-text search columns not found - falling back to LIKE search");
+            }
+            fullTextAvailable = available;
+        }
+        return available;
+    }
+    
+    /**
+     * Whether the trigram column and normalize function exist (checked once)
+     * Without them fuzzy mode falls back to the LIKE queries (substring, no typo tolerance)
+     */
+    private boolean isTrigramAvailable() {
+        Boolean available = trigramAvailable;
+        if (available == null) {
+            available = searchRepository.isTrigramAvailable();
+            if (!available) {
+                log.info("Trigram search columns not found - falling back to LIKE search");
+            }
+            trigramAvailable = available;
+        }
+        return available;
+    }
+    
+    /**
+     * Order loaded entities like the ranked id list
+     */
+    private static <T> List<T> inRankOrder(List<T> entities, List<UUID> ids, Function<T, UUID> idOf) {
+        Map<UUID, T> byId = entities.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 }
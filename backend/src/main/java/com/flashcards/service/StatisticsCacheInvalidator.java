@@ -0,0 +1,77 @@
+package com.flashcards.service;
+
+import com.flashcards.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Statistics Cache Invalidator
+ * Evicts exactly the statistics entries a StatisticsChangedEvent affects
+ *
+ * Runs after commit (or immediately outside a transaction), so a concurrent
+ * read cannot re-cache the pre-commit state after the eviction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StatisticsCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatisticsChanged(StatisticsChangedEvent event) {
+        UUID userId = event.userId();
+        UUID deckId = event.deckId();
+
+        switch (event.change()) {
+            case REVIEW, CARDS -> {
+                evictUser(CacheConfig.STATISTICS_SUMMARY, userId);
+                evictUser(CacheConfig.DUE_SUMMARY, userId);
+                evictDeck(CacheConfig.MASTERY_LEVELS, userId, deckId);
+                evictDeck(CacheConfig.ENHANCED_SUMMARY, userId, deckId);
+            }
+            case STUDY_SESSION -> {
+                evictDeck(CacheConfig.STUDY_TIME, userId, deckId);
+                evictDeck(CacheConfig.ENHANCED_SUMMARY, userId, deckId);
+            }
+        }
+
+        log.debug("Evicted statistics caches: userId={}, deckId={}, change={}", userId, deckId, event.change());
+    }
+
+    /**
+     * Evict the account-wide entry of a user
+     */
+    private void evictUser(String cacheName, UUID userId) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(StatisticsCacheKey.of(userId));
+        }
+    }
+
+    /**
+     * Evict the deck entry and the account-wide entry of a user
+     * Unknown deck (null): evict every entry of the user
+     */
+    private void evictDeck(String cacheName, UUID userId, UUID deckId) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (deckId != null) {
+            cache.evict(StatisticsCacheKey.of(userId, deckId));
+            cache.evict(StatisticsCacheKey.of(userId));
+        } else if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            nativeCache.asMap().keySet().removeIf(key ->
+                    key instanceof StatisticsCacheKey statsKey && userId.equals(statsKey.userId()));
+        } else {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.flashcards.service;
+
+import java.util.UUID;
+
+/**
+ * Cache key for per-user statistics, optionally scoped to a deck
+ *
+ * @param userId User ID
+ * @param deckId Deck ID (null = whole account)
+ */
+public record StatisticsCacheKey(UUID userId, UUID deckId) {
+
+    public static StatisticsCacheKey of(UUID userId) {
+        return new StatisticsCacheKey(userId, null);
+    }
+
+    public static StatisticsCacheKey of(UUID userId, UUID deckId) {
+        return new StatisticsCacheKey(userId, deckId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.flashcards.service;
+
+import java.util.UUID;
+
+/**
+ * Domain event: data behind a user's statistics changed
+ * Published by the writing services; StatisticsCacheInvalidator evicts the
+ * affected cache entries once the transaction commits
+ *
+ * @param userId User whose statistics changed
+ * @param deckId Affected deck (null = any / unknown deck)
+ * @param change What changed
+ */
+public record StatisticsChangedEvent(UUID userId, UUID deckId, Change change) {
+
+    public enum Change {
+        /**
+         * Review, study log or card progress written (streak, heatmap, mastery, due)
+         */
+        REVIEW,
+
+        /**
+         * Cards or decks added / removed (totals, mastery, due)
+         */
+        CARDS,
+
+        /**
+         * Study session or test result recorded (study time)
+         */
+        STUDY_SESSION
+    }
+
+    public static StatisticsChangedEvent review(UUID userId, UUID deckId) {
+        return new StatisticsChangedEvent(userId, deckId, Change.REVIEW);
+    }
+
+    public static StatisticsChangedEvent cards(UUID userId, UUID deckId) {
+        return new StatisticsChangedEvent(userId, deckId, Change.CARDS);
+    }
+
+    public static StatisticsChangedEvent studySession(UUID userId, UUID deckId) {
+        return new StatisticsChangedEvent(userId, deckId, Change.STUDY_SESSION);
+    }
+}
@@ -1,18 +1,20 @@
 package com.flashcards.service;
 
+import com.flashcards.config.CacheConfig;
+import com.flashcards.dto.response.HeatmapResponse;
 import com.flashcards.dto.response.MasteryLevelStatistics;
 import com.flashcards.dto.statistics.StatisticsSummaryDTO;
 import com.flashcards.model.entity.Card;
-import com.flashcards.model.entity.CardProgress;
 import com.flashcards.model.entity.StudyLog;
-import com.flashcards.model.entity.User;
-import com.flashcards.model.enums.LearningState;
+import com.flashcards.model.entity.UserDailyActivity;
 import com.flashcards.repository.CardProgressRepository;
 import com.flashcards.repository.CardRepository;
+import com.flashcards.repository.MasteryCounts;
 import com.flashcards.repository.StudyLogRepository;
-import com.flashcards.repository.UserRepository;
+import com.flashcards.util.TimeZones;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -20,9 +22,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -32,7 +34,12 @@ public class StatisticsService {
     private final StudyLogRepository studyLogRepository;
     private final CardRepository cardRepository;
     private final CardProgressRepository cardProgressRepository;
-    private final UserRepository userRepository;
+    private final DailyActivityService dailyActivityService;
+    
+    /**
+     * Longest heatmap range (two years plus a leap day)
+     */
+    private static final int MAX_HEATMAP_DAYS = 731;
     
     /**
      * Log a study action
@@ -42,115 +49,135 @@ public class StatisticsService {
                 .userId(userId)
                 .cardId(cardId)
                 .action(action)
+                .reviewedAt(Instant.now())
                 .build();
         studyLogRepository.save(studyLog);
+        dailyActivityService.recordActivity(userId, studyLog.getReviewedAt(), null);
         log.info("Logged study action: userId={}, cardId={}, action={}", userId, cardId, action);
     }
     
     /**
-     * Get statistics summary for user
+     * Count total unique cards studied by the user
      */
-    public StatisticsSummaryDTO getStatisticsSummary(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        UUID userId = user.getId();
-        
-        log.info("Getting statistics summary for user: {}", userId);
-        
-        // Calculate streak
-        Integer streak = calculateStreak(userId);
-        
-        // Count total cards learned
+    public long getTotalCardsLearned(UUID userId) {
         Long totalCardsLearned = studyLogRepository.countDistinctCardsByUserId(userId);
-        
-        // Count due cards (cards that need review now)
-        Long dueCardsCount = cardProgressRepository.countDueCards(userId);
-        
-        // Generate heatmap data (last 365 days)
-        Map<String, Integer> heatmapData = generateHeatmapData(userId);
-        
-        // Generate pie chart data (card status distribution)
-        StatisticsSummaryDTO.PieChartDataDTO pieChartData = generatePieChartData(userId);
-        
-        return StatisticsSummaryDTO.builder()
-                .streak(streak)
-                .totalCardsLearned(totalCardsLearned != null ? totalCardsLearned : 0L)
-                .dueCardsCount(dueCardsCount)
-                .heatmapData(heatmapData)
-                .pieChartData(pieChartData)
-                .build();
+        return totalCardsLearned != null ? totalCardsLearned : 0L;
     }
     
     /**
-     * Calculate current study streak (consecutive days)
+     * Count cards that need review now
      */
-    private Integer calculateStreak(UUID userId) {
-        List<StudyLog> studyLogs = studyLogRepository.findAllByUserIdOrderByReviewedAtDesc(userId);
-        
-        if (studyLogs == null || studyLogs.isEmpty()) {
-            return 0;
+    public Long getDueCardsCount(UUID userId) {
+        return cardProgressRepository.countDueCards(userId);
+    }
+    
+    /**
+     * Get the study heatmap for a date range
+     * Reads the daily rollup when the requested time zone is the user's zone,
+     * otherwise aggregates study_log by local day in the database
+     *
+     * @param userId User ID
+     * @param from First day (null = 365 days before to)
+     * @param to Last day (null = today in tz)
+     * @param tz IANA time zone id (null = the user's time zone)
+     * @throws IllegalArgumentException for an invalid zone or range
+     */
+    public HeatmapResponse getHeatmap(UUID userId, LocalDate from, LocalDate to, String tz) {
+        ZoneId userZone = dailyActivityService.zoneOf(userId);
+        ZoneId zone = tz == null || tz.isBlank() ? userZone : TimeZones.parse(tz);
+        LocalDate endDate = to != null ? to : LocalDate.now(zone);
+        LocalDate startDate = from != null ? from : endDate.minusDays(365);
+
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("from must not be after to");
         }
-        
-        // Extract unique dates and sort descending
-        List<LocalDate> studyDates = studyLogs.stream()
-                .map(log -> log.getReviewedAt().atZone(ZoneId.systemDefault()).toLocalDate())
-                .distinct()
-                .sorted(Comparator.reverseOrder())
-                .collect(Collectors.toList());
-        
-        LocalDate today = LocalDate.now();
-        LocalDate yesterday = today.minusDays(1);
-        
-        // Check if user studied today or yesterday (streak is active)
-        LocalDate mostRecentDate = studyDates.get(0);
-        if (!mostRecentDate.equals(today) && !mostRecentDate.equals(yesterday)) {
-            return 0; // Streak broken
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        if (days > MAX_HEATMAP_DAYS) {
+            throw new IllegalArgumentException("Heatmap range must not exceed " + MAX_HEATMAP_DAYS + " days");
         }
-        
-        // Count consecutive days
-        int streak = 1;
-        LocalDate expectedDate = mostRecentDate.minusDays(1);
-        
-        for (int i = 1; i < studyDates.size(); i++) {
-            LocalDate currentDate = studyDates.get(i);
-            
-            if (currentDate.equals(expectedDate)) {
-                streak++;
-                expectedDate = expectedDate.minusDays(1);
-            } else {
-                break; // Streak broken
+
+        int[] counts = new int[days];
+        long[] timeSpent = new long[days];
+
+        if (zone.getRules().equals(userZone.getRules())) {
+            for (UserDailyActivity day : dailyActivityService.getActivity(userId, startDate, endDate)) {
+                int index = (int) ChronoUnit.DAYS.between(startDate, day.getActivityDate());
+                counts[index] = day.getReviewCount();
+                timeSpent[index] = day.getTimeSpentMs();
+            }
+        } else {
+            List<Object[]> rows = studyLogRepository.aggregateDailyActivity(userId,
+                    startDate.atStartOfDay(zone).toInstant(),
+                    endDate.plusDays(1).atStartOfDay(zone).toInstant(),
+                    zone.getId());
+            for (Object[] row : rows) {
+                int index = (int) ChronoUnit.DAYS.between(startDate, toLocalDate(row[0]));
+                counts[index] = ((Number) row[1]).intValue();
+                timeSpent[index] = ((Number) row[2]).longValue();
             }
         }
-        
+
+        long totalReviews = 0;
+        int activeDays = 0;
+        for (int count : counts) {
+            totalReviews += count;
+            if (count > 0) {
+                activeDays++;
+            }
+        }
+
+        log.info("Generated heatmap for user {}: {} to {} ({}), {} active days",
+                userId, startDate, endDate, zone.getId(), activeDays);
+
+        return HeatmapResponse.builder()
+                .from(startDate)
+                .to(endDate)
+                .timeZone(zone.getId())
+                .counts(counts)
+                .timeSpentMs(timeSpent)
+                .totalReviews(totalReviews)
+                .activeDays(activeDays)
+                .build();
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate localDate) {
+            return localDate;
+        }
+        return ((java.sql.Date) value).toLocalDate();
+    }
+    
+    /**
+     * Calculate current study streak (consecutive days)
+     * Reads the stored streak maintained on each review (O(1), no log scan)
+     */
+    public Integer calculateStreak(UUID userId) {
+        int streak = dailyActivityService.getCurrentStreak(userId);
         log.info("Calculated streak for user {}: {} days", userId, streak);
         return streak;
     }
     
     /**
      * Generate heatmap data for last 365 days
+     * Reads the per-day rollup (at most 366 rows) instead of the raw logs
      */
-    private Map<String, Integer> generateHeatmapData(UUID userId) {
-        Instant startDate = Instant.now().minus(365, java.time.temporal.ChronoUnit.DAYS);
-        List<StudyLog> logs = studyLogRepository.findByUserIdAndReviewedAtAfter(userId, startDate);
+    public Map<String, Integer> generateHeatmapData(UUID userId) {
+        LocalDate endDate = LocalDate.now(dailyActivityService.zoneOf(userId));
+        LocalDate startDate = endDate.minusDays(365);
         
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
         
-        // Group by date and count
-        Map<String, Integer> heatmap = logs.stream()
-                .collect(Collectors.groupingBy(
-                        log -> log.getReviewedAt().atZone(ZoneId.systemDefault()).toLocalDate().format(formatter),
-                        Collectors.collectingAndThen(Collectors.counting(), Long::intValue)
-                ));
+        Map<LocalDate, Integer> heatmap = new HashMap<>();
+        for (UserDailyActivity day : dailyActivityService.getActivity(userId, startDate, endDate)) {
+            heatmap.put(day.getActivityDate(), day.getReviewCount());
+        }
         
         // Fill missing dates with 0
         Map<String, Integer> completeHeatmap = new LinkedHashMap<>();
-        LocalDate currentDate = LocalDate.now().minusDays(365);
-        LocalDate endDate = LocalDate.now();
+        LocalDate currentDate = startDate;
         
         while (!currentDate.isAfter(endDate)) {
-            String dateKey = currentDate.format(formatter);
-            completeHeatmap.put(dateKey, heatmap.getOrDefault(dateKey, 0));
+            completeHeatmap.put(currentDate.format(formatter), heatmap.getOrDefault(currentDate, 0));
             currentDate = currentDate.plusDays(1);
         }
         
@@ -162,7 +189,7 @@ public class StatisticsService {
      * Generate pie chart data (card status distribution)
      * TODO: Update when Card entity has status field (SM-2 algorithm)
      */
-    private StatisticsSummaryDTO.PieChartDataDTO generatePieChartData(UUID userId) {
+    public StatisticsSummaryDTO.PieChartDataDTO generatePieChartData(UUID userId) {
         List<Card> userCards = cardRepository.findAllByDeck_User_Id(userId);
         
         // Get cards that have been studied (have study logs)
@@ -192,121 +219,56 @@ public class StatisticsService {
      * Get mastery level statistics for a user
      * Categorizes cards into: New, Still Learning, Almost Done, Mastered
      */
+    @Cacheable(cacheNames = CacheConfig.MASTERY_LEVELS, key = "T(com.flashcards.service.StatisticsCacheKey).of(#userId)")
     public MasteryLevelStatistics getMasteryLevelStatistics(UUID userId) {
         log.info("Getting mastery level statistics for user: {}", userId);
 
-        // Get all cards for this user through their decks
-        List<Card> allCards = cardRepository.findAllByDeck_User_Id(userId);
-
-        int newCards = 0;
-        int stillLearning = 0;
-        int almostDone = 0;
-        int mastered = 0;
-
-        for (Card card : allCards) {
-            // Get card progress for this user
-            Optional<CardProgress> progressOpt = cardProgressRepository
-                    .findByUserIdAndCardId(userId, card.getId());
-
-            if (progressOpt.isEmpty()) {
-                // No progress = new card
-                newCards++;
-            } else {
-                CardProgress progress = progressOpt.get();
-                LearningState state = progress.getLearningState();
-                Integer interval = progress.getInterval();
-
-                if (state == LearningState.LEARNING_MCQ || state == LearningState.LEARNING_TYPING || state == LearningState.RELEARNING) {
-                    // Still learning
-                    stillLearning++;
-                } else if (state == LearningState.REVIEWING) {
-                    // Reviewing cards are categorized by interval
-                    if (interval != null && interval >= 21) {
-                        // Mastered (21+ days interval)
-                        mastered++;
-                    } else if (interval != null && interval >= 3) {
-                        // Almost done (3-20 days interval)
-                        almostDone++;
-                    } else {
-                        // Still learning (< 3 days interval)
-                        stillLearning++;
-                    }
-                } else {
-                    // Default for other states
-                    newCards++;
-                }
-            }
-        }
-
-        int total = newCards + stillLearning + almostDone + mastered;
-
-        // Calculate percentages
-        double newPercentage = total > 0 ? (newCards * 100.0 / total) : 0.0;
-        double stillLearningPercentage = total > 0 ? (stillLearning * 100.0 / total) : 0.0;
-        double almostDonePercentage = total > 0 ? (almostDone * 100.0 / total) : 0.0;
-        double masteredPercentage = total > 0 ? (mastered * 100.0 / total) : 0.0;
+        // One aggregate over cards LEFT JOIN card_progress instead of a query per card
+        MasteryCounts counts = cardRepository.countMasteryByUserId(userId);
+        MasteryLevelStatistics stats = toMasteryStatistics(counts);
 
         log.info("Mastery levels for user {}: New={}, Learning={}, AlmostDone={}, Mastered={}", 
-                userId, newCards, stillLearning, almostDone, mastered);
-
-        return MasteryLevelStatistics.builder()
-                .newCards(newCards)
-                .stillLearning(stillLearning)
-                .almostDone(almostDone)
-                .mastered(mastered)
-                .total(total)
-                .newCardsPercentage(newPercentage)
-                .stillLearningPercentage(stillLearningPercentage)
-                .almostDonePercentage(almostDonePercentage)
-                .masteredPercentage(masteredPercentage)
-                .build();
+                userId, stats.getNewCards(), stats.getStillLearning(), stats.getAlmostDone(), stats.getMastered());
+        return stats;
     }
 
     /**
      * Get mastery level statistics for a specific deck
      */
+    @Cacheable(cacheNames = CacheConfig.MASTERY_LEVELS, key = "T(com.flashcards.service.StatisticsCacheKey).of(#userId, #deckId)")
     public MasteryLevelStatistics getMasteryLevelStatisticsByDeck(UUID userId, UUID deckId) {
         log.info("Getting mastery level statistics for user: {} and deck: {}", userId, deckId);
 
-        // Get all cards for this deck (already filters deleted cards via @Where clause)
-        List<Card> allCards = cardRepository.findAllByDeckIdOrderByPositionAsc(deckId);
+        MasteryCounts counts = cardRepository.countMasteryByDeckId(userId, deckId);
+        MasteryLevelStatistics stats = toMasteryStatistics(counts);
 
-        int newCards = 0;
-        int stillLearning = 0;
-        int almostDone = 0;
-        int mastered = 0;
-
-        for (Card card : allCards) {
-            // Get card progress for this user
-            Optional<CardProgress> progressOpt = cardProgressRepository
-                    .findByUserIdAndCardId(userId, card.getId());
+        log.info("Mastery levels for user {} deck {}: New={}, Learning={}, AlmostDone={}, Mastered={}", 
+                userId, deckId, stats.getNewCards(), stats.getStillLearning(), stats.getAlmostDone(), stats.getMastered());
+        return stats;
+    }
 
-            if (progressOpt.isEmpty()) {
-                newCards++;
-            } else {
-                CardProgress progress = progressOpt.get();
-                LearningState state = progress.getLearningState();
-                Integer interval = progress.getInterval();
+    /**
+     * Get mastery level statistics for every deck of a user in one grouped query
+     *
+     * @return Deck ID -> statistics (decks without cards have zero counts)
+     */
+    public Map<UUID, MasteryLevelStatistics> getMasteryLevelStatisticsForAllDecks(UUID userId) {
+        log.info("Getting mastery level statistics for all decks of user: {}", userId);
 
-                if (state == LearningState.LEARNING_MCQ || state == LearningState.LEARNING_TYPING || state == LearningState.RELEARNING) {
-                    stillLearning++;
-                } else if (state == LearningState.REVIEWING) {
-                    if (interval != null && interval >= 21) {
-                        mastered++;
-                    } else if (interval != null && interval >= 3) {
-                        // Almost done (3-20 days interval)
-                        almostDone++;
-                    } else {
-                        // Still learning (< 3 days interval)
-                        stillLearning++;
-                    }
-                } else {
-                    newCards++;
-                }
-            }
+        List<MasteryCounts> rows = cardRepository.countMasteryGroupedByDeck(userId);
+        Map<UUID, MasteryLevelStatistics> result = new LinkedHashMap<>(rows.size() * 2);
+        for (MasteryCounts counts : rows) {
+            result.put(counts.deckId(), toMasteryStatistics(counts));
         }
+        return result;
+    }
 
-        int total = newCards + stillLearning + almostDone + mastered;
+    private MasteryLevelStatistics toMasteryStatistics(MasteryCounts counts) {
+        int newCards = (int) MasteryCounts.count(counts.newCards());
+        int stillLearning = (int) counts.stillLearning();
+        int almostDone = (int) MasteryCounts.count(counts.almostDone());
+        int mastered = (int) MasteryCounts.count(counts.mastered());
+        int total = (int) MasteryCounts.count(counts.total());
 
         // Calculate percentages
         double newPercentage = total > 0 ? (newCards * 100.0 / total) : 0.0;
@@ -314,9 +276,6 @@ public class StatisticsService {
         double almostDonePercentage = total > 0 ? (almostDone * 100.0 / total) : 0.0;
         double masteredPercentage = total > 0 ? (mastered * 100.0 / total) : 0.0;
 
-        log.info("Mastery levels for user {} deck {}: New={}, Learning={}, AlmostDone={}, Mastered={}", 
-                userId, deckId, newCards, stillLearning, almostDone, mastered);
-
         return MasteryLevelStatistics.builder()
                 .newCards(newCards)
                 .stillLearning(stillLearning)
@@ -0,0 +1,240 @@
+package com.flashcards.service;
+
+import com.flashcards.repository.StudyLogPartitionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Study Log Archive Service
+ * Maintains the monthly partitions of study_log (see V20)
+ *
+ * - Creates partitions for the current month and the next app.study-log.premake-months
+ * - Archives months older than app.study-log.retention-months: the partition is
+ *   exported to a gzip CSV file in app.study-log.archive-dir, then detached and dropped
+ * - Moves rows that landed in study_log_default before the horizon (offline sync of
+ *   very old reviews) to an archive file as well
+ *
+ * Per-day history survives archiving in user_daily_activity, which is maintained on
+ * every log write and is never rebuilt for days before the archive horizon.
+ * Does nothing when study_log is not partitioned (ddl-auto schemas in development).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudyLogArchiveService {
+
+    private final StudyLogPartitionRepository partitionRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Months kept in study_log, not counting the current one (0 = never archive)
+     */
+    @Value("${app.study-log.retention-months:24}")
+    private int retentionMonths;
+
+    @Value("${app.study-log.premake-months:3}")
+    private int premakeMonths;
+
+    @Value("${app.study-log.archive-dir:./archive/study-log}")
+    private String archiveDir;
+
+    private TransactionTemplate transaction;
+
+    @PostConstruct
+    void init() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Start of the oldest month kept in study_log, or null if nothing is archived
+     * Logs before this instant may only exist in archive files
+     */
+    public Instant archiveHorizon() {
+        if (retentionMonths <= 0) {
+            return null;
+        }
+        return horizonMonth().atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    /**
+     * Create upcoming partitions and archive expired ones
+     * Runs nightly (app.study-log.partition-cron) and can be invoked manually
+     */
+    @Scheduled(cron = "${app.study-log.partition-cron:0 0 4 * * *}")
+    public void maintainPartitions() {
+        if (!Boolean.TRUE.equals(transaction.execute(status -> partitionRepository.isPartitioned()))) {
+            log.debug("study_log is not partitioned - skipping partition maintenance");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long sizeBefore = partitionRepository.totalSizeBytes();
+
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= premakeMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                Integer moved = transaction.execute(status -> partitionRepository.createMonthlyPartition(month));
+                if (moved != null && moved > 0) {
+                    log.info("Moved {} rows from {} into new partition {}", moved,
+                            StudyLogPartitionRepository.DEFAULT_PARTITION, StudyLogPartitionRepository.partitionName(month));
+                }
+            } catch (RuntimeException e) {
+                // The next run retries; archiving still proceeds
+                log.warn("Could not create partition {}: {}", StudyLogPartitionRepository.partitionName(month),
+                        e.getMessage());
+            }
+        }
+
+        int archived = 0;
+        if (retentionMonths > 0) {
+            YearMonth horizon = horizonMonth();
+            List<YearMonth> months = partitionRepository.findMonthlyPartitions();
+            for (YearMonth month : months) {
+                if (month.isBefore(horizon)) {
+                    archivePartition(month);
+                    archived++;
+                }
+            }
+            archiveDefaultRows(archiveHorizon());
+        }
+
+        log.info("study_log partition maintenance finished in {} ms: archived {} partitions, size {} -> {} bytes",
+                System.currentTimeMillis() - start, archived, sizeBefore, partitionRepository.totalSizeBytes());
+    }
+
+    /**
+     * Export a month to {@code study_log_pYYYYMM.csv.gz}, then detach and drop it
+     * The partition is write-locked for the whole transaction, so no row can arrive
+     * between the export and the drop; on failure nothing is dropped
+     */
+    private void archivePartition(YearMonth month) {
+        String partition = StudyLogPartitionRepository.partitionName(month);
+        Path target = archivePath(partition + ".csv.gz");
+
+        long rows = transaction.execute(status -> {
+            partitionRepository.lockForArchive(month);
+            long exported = writeArchive(target, handler -> partitionRepository.streamPartition(month, handler));
+            partitionRepository.detachAndDrop(month);
+            return exported;
+        });
+
+        log.info("Archived {} ({} rows) to {}", partition, rows, target);
+    }
+
+    /**
+     * Move default-partition rows reviewed before the horizon to an archive file
+     */
+    private void archiveDefaultRows(Instant horizon) {
+        Path target = archivePath(StudyLogPartitionRepository.DEFAULT_PARTITION + "_"
+                + System.currentTimeMillis() + ".csv.gz");
+
+        long rows = transaction.execute(status ->
+                writeArchive(target, handler -> partitionRepository.deleteDefaultRowsBefore(horizon, handler)));
+
+        if (rows > 0) {
+            log.info("Archived {} rows from {} to {}", rows, StudyLogPartitionRepository.DEFAULT_PARTITION, target);
+        } else {
+            deleteQuietly(target);
+        }
+    }
+
+    private YearMonth horizonMonth() {
+        return YearMonth.now(ZoneOffset.UTC).minusMonths(retentionMonths);
+    }
+
+    /**
+     * Source of archived rows: streams rows into the given handler and returns the count
+     */
+    @FunctionalInterface
+    private interface RowSource {
+        long stream(RowCallbackHandler handler);
+    }
+
+    /**
+     * Write rows as gzip CSV (header = export columns) to a temp file, then move it
+     * into place; the temp file is removed if the export fails
+     */
+    private long writeArchive(Path target, RowSource source) {
+        Path temp = target.resolveSibling(target.getFileName() + ".part");
+        try {
+            Files.createDirectories(target.getParent());
+            long rows;
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                writer.write(StudyLogPartitionRepository.EXPORT_COLUMNS.replace(" ", ""));
+                writer.write('\n');
+                rows = source.stream(rs -> writeCsvRow(writer, rs));
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return rows;
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("Failed to write study_log archive " + target, e);
+        } catch (RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, ResultSet rs) throws SQLException {
+        try {
+            int columns = rs.getMetaData().getColumnCount();
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                String value = rs.getString(i);
+                if (value != null) {
+                    writer.write(csvEscape(value));
+                }
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private Path archivePath(String fileName) {
+        return Paths.get(archiveDir).toAbsolutePath().resolve(fileName);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package com.flashcards.service;
 
+import com.flashcards.config.CacheConfig;
 import com.flashcards.dto.response.ModeStatisticsDetail;
 import com.flashcards.model.entity.StudySession;
 import com.flashcards.model.entity.User;
 import com.flashcards.model.enums.StudyMode;
+import com.flashcards.repository.ModeTimeTotals;
 import com.flashcards.repository.StudySessionRepository;
 import com.flashcards.repository.TestResultRepository;
+import com.flashcards.repository.TestResultTotals;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +21,7 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +38,7 @@ public class StudySessionService {
 
     private final StudySessionRepository studySessionRepository;
     private final TestResultRepository testResultRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new study session
@@ -60,7 +67,9 @@ public class StudySessionService {
                 .cardsStudied(cardsStudied)
                 .build();
 
-        return studySessionRepository.save(session);
+        StudySession saved = studySessionRepository.save(session);
+        eventPublisher.publishEvent(StatisticsChangedEvent.studySession(user.getId(), deckId));
+        return saved;
     }
 
     /**
@@ -75,21 +84,45 @@ public class StudySessionService {
      * Get total study time statistics for a user
      * Returns a map with total time and time per mode (in seconds)
      */
+    @Cacheable(cacheNames = CacheConfig.STUDY_TIME, key = "T(com.flashcards.service.StatisticsCacheKey).of(#userId)")
     public Map<String, Long> getStudyTimeStatistics(UUID userId) {
         log.debug("Getting study time statistics for user: {}", userId);
+        return toTimeByMode(getModeTotals(userId, null));
+    }
 
-        Map<String, Long> stats = new HashMap<>();
-        
-        // Total time across all modes
-        Long totalTime = studySessionRepository.getTotalStudyTimeByUserId(userId);
-        stats.put("total", totalTime);
+    /**
+     * Get per-mode session totals with one GROUP BY mode query
+     *
+     * @param userId User ID
+     * @param deckId Deck filter (null = all sessions)
+     * @return Totals keyed by mode (modes without sessions are absent)
+     */
+    public Map<StudyMode, ModeTimeTotals> getModeTotals(UUID userId, UUID deckId) {
+        List<ModeTimeTotals> rows = deckId != null
+            ? studySessionRepository.aggregateByModeAndDeck(userId, deckId)
+            : studySessionRepository.aggregateByMode(userId);
 
-        // Time per mode
+        Map<StudyMode, ModeTimeTotals> totals = new EnumMap<>(StudyMode.class);
+        for (ModeTimeTotals row : rows) {
+            totals.put(row.mode(), row);
+        }
+        return totals;
+    }
+
+    /**
+     * Convert per-mode totals to seconds keyed by "total" and lower-case mode name
+     * Every mode is present (0 when it has no sessions)
+     */
+    public Map<String, Long> toTimeByMode(Map<StudyMode, ModeTimeTotals> totals) {
+        Map<String, Long> stats = new HashMap<>();
+        long totalTime = 0;
         for (StudyMode mode : StudyMode.values()) {
-            Long modeTime = studySessionRepository.getTotalStudyTimeByUserIdAndMode(userId, mode);
+            ModeTimeTotals modeTotals = totals.get(mode);
+            long modeTime = modeTotals != null && modeTotals.totalSeconds() != null ? modeTotals.totalSeconds() : 0L;
             stats.put(mode.name().toLowerCase(), modeTime);
+            totalTime += modeTime;
         }
-
+        stats.put("total", totalTime);
         return stats;
     }
 
@@ -108,39 +141,37 @@ public class StudySessionService {
     public void deleteUserStudySessions(UUID userId) {
         log.info("Deleting all study sessions for user: {}", userId);
         studySessionRepository.deleteByUserId(userId);
+        eventPublisher.publishEvent(StatisticsChangedEvent.studySession(userId, null));
     }
 
     /**
      * Get study time statistics by deck
      */
+    @Cacheable(cacheNames = CacheConfig.STUDY_TIME, key = "T(com.flashcards.service.StatisticsCacheKey).of(#userId, #deckId)")
     public Map<String, Long> getStudyTimeStatisticsByDeck(UUID userId, UUID deckId) {
         log.debug("Getting study time statistics for user: {} and deck: {}", userId, deckId);
-        
-        Map<String, Long> statistics = new HashMap<>();
-        
-        // Total time for this deck
-        Long totalTime = studySessionRepository.getTotalStudyTimeByDeck(userId, deckId);
-        statistics.put("total", totalTime != null ? totalTime : 0L);
-        
-        // Time by mode for this deck
-        for (StudyMode mode : StudyMode.values()) {
-            Long modeTime = studySessionRepository.getStudyTimeByModeAndDeck(userId, mode, deckId);
-            statistics.put(mode.name().toLowerCase(), modeTime != null ? modeTime : 0L);
-        }
-        
-        return statistics;
+        return toTimeByMode(getModeTotals(userId, deckId));
     }
 
     /**
      * Get detailed statistics for each mode
      */
     public Map<String, ModeStatisticsDetail> getModeDetails(UUID userId, UUID deckId) {
+        return getModeDetails(userId, deckId, getModeTotals(userId, deckId));
+    }
+
+    /**
+     * Get detailed statistics for each mode from already-loaded totals
+     * Adds at most one test-result aggregate query
+     */
+    public Map<String, ModeStatisticsDetail> getModeDetails(UUID userId, UUID deckId,
+                                                            Map<StudyMode, ModeTimeTotals> totals) {
         log.debug("Getting mode details for user: {} and deck: {}", userId, deckId);
         
         Map<String, ModeStatisticsDetail> details = new HashMap<>();
         
         for (StudyMode mode : StudyMode.values()) {
-            ModeStatisticsDetail detail = getModeDetail(userId, deckId, mode);
+            ModeStatisticsDetail detail = getModeDetail(userId, deckId, mode, totals.get(mode));
             details.put(mode.name().toLowerCase(), detail);
         }
         
@@ -150,13 +181,8 @@ public class StudySessionService {
     /**
      * Get detailed statistics for a specific mode
      */
-    private ModeStatisticsDetail getModeDetail(UUID userId, UUID deckId, StudyMode mode) {
-        // Get sessions for this mode
-        List<StudySession> sessions = deckId != null 
-            ? studySessionRepository.findByUserIdAndModeAndDeckIdOrderByStartTimeDesc(userId, mode, deckId)
-            : studySessionRepository.findByUserIdAndModeOrderByStartTimeDesc(userId, mode);
-
-        if (sessions.isEmpty()) {
+    private ModeStatisticsDetail getModeDetail(UUID userId, UUID deckId, StudyMode mode, ModeTimeTotals totals) {
+        if (totals == null || totals.sessionCount() == 0) {
             return ModeStatisticsDetail.builder()
                 .mode(mode.name().toLowerCase())
                 .timeSpentSeconds(0L)
@@ -168,18 +194,9 @@ public class StudySessionService {
                 .build();
         }
 
-        // Calculate total time
-        Long totalSeconds = sessions.stream()
-            .mapToLong(StudySession::getDurationSeconds)
-            .sum();
-
-        // Calculate total cards seen
-        Integer totalCards = sessions.stream()
-            .mapToInt(s -> s.getCardsStudied() != null ? s.getCardsStudied() : 0)
-            .sum();
-
-        // Get last session
-        StudySession lastSession = sessions.get(0); // Already ordered by startTime DESC
+        Long totalSeconds = totals.totalSeconds() != null ? totals.totalSeconds() : 0L;
+        Integer totalCards = totals.cardsStudied() != null ? totals.cardsStudied().intValue() : 0;
+        Instant lastActive = totals.lastEndTime();
 
         // Calculate average grade for test mode
         Double averageGrade = null;
@@ -187,10 +204,12 @@ public class StudySessionService {
         Instant lastSubmission = null;
         
         if (mode == StudyMode.TEST) {
-            // Get test results for this deck
-            averageGrade = testResultRepository.getAverageScoreByUserIdAndDeckId(userId, deckId);
-            testHistory = testResultRepository.countByUserIdAndDeckId(userId, deckId).intValue();
-            lastSubmission = lastSession.getEndTime();
+            TestResultTotals testTotals = deckId != null
+                ? testResultRepository.aggregateByUserIdAndDeckId(userId, deckId)
+                : testResultRepository.aggregateByUserId(userId);
+            averageGrade = testTotals.averageScore();
+            testHistory = testTotals.count() != null ? testTotals.count().intValue() : 0;
+            lastSubmission = lastActive;
         }
 
         return ModeStatisticsDetail.builder()
@@ -198,8 +217,8 @@ public class StudySessionService {
             .timeSpentSeconds(totalSeconds)
             .timeSpentFormatted(formatDuration(totalSeconds))
             .cardsSeen(totalCards)
-            .lastActive(lastSession.getEndTime())
-            .lastActiveFormatted(formatRelativeTime(lastSession.getEndTime()))
+            .lastActive(lastActive)
+            .lastActiveFormatted(formatRelativeTime(lastActive))
             .isCompleted(false) // TODO: Implement completion logic
             .averageGrade(averageGrade)
             .testHistory(testHistory)
@@ -6,16 +6,20 @@ import com.flashcards.exception.UnauthorizedException;
 import com.flashcards.model.entity.*;
 import com.flashcards.model.enums.Grade;
 import com.flashcards.model.enums.LearningState;
+import com.flashcards.model.enums.MasteryLevel;
 import com.flashcards.model.enums.SourceType;
 import com.flashcards.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -29,11 +33,21 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SyncService {
 
+    /**
+     * How far ahead of the server clock a pushed review time may be
+     * Later times come from a wrong device clock and are clamped, so no log lands
+     * in a month without a study_log partition
+     */
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(5);
+
     private final DeckRepository deckRepository;
     private final CardRepository cardRepository;
     private final StudyLogRepository studyLogRepository;
     private final CardProgressRepository cardProgressRepository;
     private final FolderRepository folderRepository;
+    private final DeckProgressService deckProgressService;
+    private final DailyActivityService dailyActivityService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Pull data from server (GET /api/v1/sync)
@@ -76,9 +90,10 @@ public class SyncService {
             .collect(Collectors.toList());
 
         // Pull StudyLogs
-        List<SyncDataResponse.StudyLogSyncData> studyLogs = studyLogRepository.findAll().stream()
-            .filter(log -> log.getUserId().equals(userId))
-            .filter(log -> log.getReviewedAt() != null && log.getReviewedAt().isAfter(syncPoint))
+        // Bounded on reviewed_at so only the partitions since the sync point are scanned
+        List<SyncDataResponse.StudyLogSyncData> studyLogs = studyLogRepository
+            .findByUserIdAndReviewedAtAfter(userId, syncPoint).stream()
+            .filter(log -> log.getReviewedAt().isAfter(syncPoint))
             .map(this::mapStudyLogToSyncData)
             .collect(Collectors.toList());
 
@@ -150,6 +165,8 @@ public class SyncService {
             for (SyncPushRequest.StudyLogPushData logData : request.getStudyLogs()) {
                 saveStudyLogFromPush(userId, logData);
             }
+            // Offline logs can fill past days: rebuild the streak once per push
+            dailyActivityService.rebuildStreak(userId);
             log.info("Pushed {} study logs", request.getStudyLogs().size());
         }
 
@@ -161,6 +178,16 @@ public class SyncService {
             log.info("Pushed {} card progress", request.getCardProgress().size());
         }
 
+        // A push can touch any deck of the user: drop all of their cached statistics
+        boolean decksOrCardsChanged = !createdDeckIds.isEmpty() || !createdCardIds.isEmpty();
+        boolean progressChanged = (request.getStudyLogs() != null && !request.getStudyLogs().isEmpty())
+                || (request.getCardProgress() != null && !request.getCardProgress().isEmpty());
+        if (decksOrCardsChanged) {
+            eventPublisher.publishEvent(StatisticsChangedEvent.cards(userId, null));
+        } else if (progressChanged) {
+            eventPublisher.publishEvent(StatisticsChangedEvent.review(userId, null));
+        }
+
         return SyncDataResponse.builder()
             .serverTime(Instant.now())
             .folders(new ArrayList<>())
@@ -313,6 +340,9 @@ public class SyncService {
             deck.setUserId(userId);
         }
 
+        // Folder currently counting this deck (null for new or deleted decks)
+        UUID previousFolderId = deck.getCreatedAt() != null && !deck.isDeleted() ? deck.getFolderId() : null;
+
         // Convert folderId from String to UUID
         if (data.getFolderId() != null && !data.getFolderId().isEmpty()) {
             try {
@@ -343,7 +373,10 @@ public class SyncService {
         
         deck.setLastViewedAt(data.getLastViewedAt());
 
-        return deckRepository.save(deck);
+        Deck savedDeck = deckRepository.save(deck);
+        moveDeckCount(previousFolderId, savedDeck.isDeleted() ? null : savedDeck.getFolderId());
+
+        return savedDeck;
     }
 
     private Card saveCardFromPush(UUID userId, SyncPushRequest.CardPushData data) {
@@ -395,6 +428,9 @@ public class SyncService {
             card = new Card();
         }
 
+        // Deck currently counting this card (null for new or deleted cards)
+        UUID previousDeckId = card.getCreatedAt() != null && !card.isDeleted() ? card.getDeckId() : null;
+
         card.setDeckId(deckId);
         card.setTerm(data.getTerm());
         card.setDefinition(data.getDefinition());
@@ -413,7 +449,48 @@ public class SyncService {
             card.setDeletedAt(null);  // Restore if previously deleted
         }
 
-        return cardRepository.save(card);
+        Card savedCard = cardRepository.save(card);
+        moveCardCount(userId, savedCard.getId(), previousDeckId, savedCard.isDeleted() ? null : savedCard.getDeckId());
+
+        return savedCard;
+    }
+
+    // ===== Denormalized Counters =====
+
+    /**
+     * Move one deck between folder counters
+     * A null folder means the deck was / is not counted anywhere
+     */
+    private void moveDeckCount(UUID fromFolderId, UUID toFolderId) {
+        if (Objects.equals(fromFolderId, toFolderId)) {
+            return;
+        }
+        if (fromFolderId != null) {
+            folderRepository.adjustDeckCount(fromFolderId, -1);
+        }
+        if (toFolderId != null) {
+            folderRepository.adjustDeckCount(toFolderId, 1);
+        }
+    }
+
+    /**
+     * Move one card between deck counters (card count and mastery counters)
+     * A null deck means the card was / is not counted anywhere
+     */
+    private void moveCardCount(UUID userId, UUID cardId, UUID fromDeckId, UUID toDeckId) {
+        if (Objects.equals(fromDeckId, toDeckId)) {
+            return;
+        }
+        MasteryLevel level = DeckProgressService.levelOf(
+                cardProgressRepository.findByUserIdAndCardId(userId, cardId).orElse(null));
+        if (fromDeckId != null) {
+            deckRepository.adjustCardCount(fromDeckId, -1);
+            deckProgressService.cardRemoved(userId, fromDeckId, level);
+        }
+        if (toDeckId != null) {
+            deckRepository.adjustCardCount(toDeckId, 1);
+            deckProgressService.cardAdded(userId, toDeckId, level);
+        }
     }
 
     private StudyLog saveStudyLogFromPush(UUID userId, SyncPushRequest.StudyLogPushData data) {
@@ -437,6 +514,14 @@ public class SyncService {
             throw new UnauthorizedException("Cannot add study log for card owned by another user");
         }
 
+        // Use provided reviewedAt or current time, never later than the server clock allows
+        Instant now = Instant.now();
+        Instant reviewedAt = data.getReviewedAt() != null ? data.getReviewedAt() : now;
+        if (reviewedAt.isAfter(now.plus(MAX_CLOCK_SKEW))) {
+            log.warn("Clamping future reviewedAt {} for card {}", reviewedAt, cardId);
+            reviewedAt = now;
+        }
+
         StudyLog log = new StudyLog();
         log.setUserId(userId);
         log.setCardId(cardId);
@@ -448,11 +533,11 @@ public class SyncService {
         log.setAction(data.getAction());
         log.setTimeTakenMs(data.getTimeTakenMs());
         
-        // Use provided reviewedAt or current time
-        // Note: @CreationTimestamp will override this, so we need to handle it differently
-        // For now, let CreationTimestamp handle it
+        log.setReviewedAt(reviewedAt);
 
-        return studyLogRepository.save(log);
+        StudyLog saved = studyLogRepository.save(log);
+        dailyActivityService.recordBackfilledActivity(userId, saved.getReviewedAt(), saved.getTimeTakenMs());
+        return saved;
     }
 
     private CardProgress saveCardProgressFromPush(UUID userId, SyncPushRequest.CardProgressPushData data) {
@@ -509,6 +594,8 @@ public class SyncService {
                 });
         }
 
+        MasteryLevel previousLevel = DeckProgressService.levelOf(progress);
+
         if (data.getLearningState() != null) {
             progress.setLearningState(LearningState.valueOf(data.getLearningState()));
         }
@@ -518,6 +605,10 @@ public class SyncService {
         progress.setEaseFactor(data.getEaseFactor() != null ? data.getEaseFactor() : 2.5f);
         progress.setRepetitions(data.getRepetitions() != null ? data.getRepetitions() : 0);
 
-        return cardProgressRepository.save(progress);
+        CardProgress savedProgress = cardProgressRepository.save(progress);
+        deckProgressService.levelChanged(userId, card.getDeckId(),
+                previousLevel, DeckProgressService.levelOf(savedProgress));
+
+        return savedProgress;
     }
 }
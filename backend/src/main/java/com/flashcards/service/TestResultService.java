@@ -6,6 +6,7 @@ import com.flashcards.model.entity.User;
 import com.flashcards.repository.TestResultRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +22,7 @@ import java.util.UUID;
 public class TestResultService {
 
     private final TestResultRepository testResultRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new test result
@@ -41,7 +43,9 @@ public class TestResultService {
                 .durationSeconds(request.getDurationSeconds())
                 .build();
 
-        return testResultRepository.save(result);
+        TestResult saved = testResultRepository.save(result);
+        eventPublisher.publishEvent(StatisticsChangedEvent.studySession(user.getId(), saved.getDeckId()));
+        return saved;
     }
 
     /**
@@ -0,0 +1,123 @@
+package com.flashcards.service;
+
+import com.flashcards.model.enums.Grade;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Monte Carlo workload model: replays the SM-2 scheduler forward day by day
+ *
+ * Cards are kept as a struct of arrays (interval, ease factor, next-in-bucket)
+ * and bucketed by due day with intrusive linked lists (head per day + next per
+ * card), so a run costs O(reviews) instead of O(cards x days). The snapshot
+ * arrays are shared read-only; each run works on its own copies, so runs can
+ * execute in parallel.
+ *
+ * Each due review passes (GOOD) with the expected recall probability,
+ * otherwise fails (AGAIN). New cards are introduced at a fixed daily rate
+ * until the pool of unstudied cards is empty; their first study counts as a
+ * new card, not as a review.
+ */
+final class WorkloadSimulation {
+
+    private static final int NONE = -1;
+
+    private final SchedulingParameters params;
+    private final int days;
+    private final int newCardsPerDay;
+    private final double recallRate;
+
+    // Snapshot of studied cards
+    private final int[] initialDueDay;
+    private final int[] initialInterval;
+    private final float[] initialEase;
+
+    private final int newCardsAvailable;
+    private final int capacity;
+
+    WorkloadSimulation(SchedulingParameters params, int days, int newCardsPerDay, double recallRate,
+                       int[] dueDay, int[] interval, float[] ease, int newCardsAvailable) {
+        this.params = params;
+        this.days = days;
+        this.newCardsPerDay = newCardsPerDay;
+        this.recallRate = recallRate;
+        this.initialDueDay = dueDay;
+        this.initialInterval = interval;
+        this.initialEase = ease;
+        this.newCardsAvailable = (int) Math.min(newCardsAvailable, (long) newCardsPerDay * days);
+        this.capacity = dueDay.length + this.newCardsAvailable;
+    }
+
+    /**
+     * New cards studied per day (the same in every run)
+     */
+    int[] newCardsPerDay() {
+        int[] introduced = new int[days];
+        int remaining = newCardsAvailable;
+        for (int day = 0; day < days; day++) {
+            introduced[day] = Math.min(newCardsPerDay, remaining);
+            remaining -= introduced[day];
+        }
+        return introduced;
+    }
+
+    /**
+     * One Monte Carlo run
+     *
+     * @return Reviews per day (index 0 = today)
+     */
+    int[] run(SplittableRandom random) {
+        int[] interval = Arrays.copyOf(initialInterval, capacity);
+        float[] ease = Arrays.copyOf(initialEase, capacity);
+        int[] next = new int[capacity];
+        int[] head = new int[days];
+        Arrays.fill(head, NONE);
+
+        int size = initialDueDay.length;
+        for (int card = 0; card < size; card++) {
+            int due = initialDueDay[card];
+            if (due < days) {
+                next[card] = head[due];
+                head[due] = card;
+            }
+        }
+
+        int[] reviews = new int[days];
+        int[] introduced = newCardsPerDay();
+
+        for (int day = 0; day < days; day++) {
+            // First study of today's new cards
+            for (int n = 0; n < introduced[day]; n++) {
+                int card = size++;
+                interval[card] = params.nextInterval(Grade.GOOD, 0, SchedulingParameters.INITIAL_EASE_FACTOR);
+                ease[card] = params.nextEaseFactor(Grade.GOOD, SchedulingParameters.INITIAL_EASE_FACTOR);
+                int due = day + interval[card];
+                if (due < days) {
+                    next[card] = head[due];
+                    head[due] = card;
+                }
+            }
+
+            // Due reviews; a card is re-bucketed into a later day, never today
+            int card = head[day];
+            while (card != NONE) {
+                int following = next[card];
+                reviews[day]++;
+
+                Grade grade = random.nextDouble() < recallRate ? Grade.GOOD : Grade.AGAIN;
+                int newInterval = params.nextInterval(grade, interval[card], ease[card]);
+                ease[card] = params.nextEaseFactor(grade, ease[card]);
+                interval[card] = newInterval;
+
+                long due = (long) day + newInterval;
+                if (due < days) {
+                    next[card] = head[(int) due];
+                    head[(int) due] = card;
+                }
+                card = following;
+            }
+        }
+        return reviews;
+    }
+}
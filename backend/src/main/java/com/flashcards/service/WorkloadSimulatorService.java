@@ -0,0 +1,145 @@
+package com.flashcards.service;
+
+import com.flashcards.dto.response.WorkloadSimulationResponse;
+import com.flashcards.repository.CardProgressRepository;
+import com.flashcards.repository.CardRepository;
+import com.flashcards.repository.MasteryCounts;
+import com.flashcards.repository.ScheduleSnapshot;
+import com.flashcards.repository.UserSchedulerParametersRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Workload Simulator Service
+ * Answers "how many reviews per day will I have if I add N new cards a day?"
+ * by running the user's scheduler forward over their current CardProgress snapshot
+ *
+ * The snapshot is packed into primitive arrays once; Monte Carlo runs then
+ * execute in parallel on the common ForkJoinPool, each on its own copy.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WorkloadSimulatorService {
+
+    public static final int MAX_DAYS = 365;
+    public static final int MAX_NEW_CARDS_PER_DAY = 1000;
+    public static final int MAX_RUNS = 256;
+
+    private final CardProgressRepository cardProgressRepository;
+    private final CardRepository cardRepository;
+    private final UserSchedulerParametersRepository schedulerParametersRepository;
+    private final DailyActivityService dailyActivityService;
+
+    /**
+     * Simulate the daily review load
+     *
+     * @param userId User ID
+     * @param days Days to simulate, starting today (1-365)
+     * @param newCardsPerDay New cards studied per day (0-1000)
+     * @param recallRate Probability a due review is recalled (0-1]
+     * @param runs Monte Carlo runs (1-256)
+     * @param seed Random seed (null = random), for reproducible results
+     * @throws IllegalArgumentException for out-of-range parameters
+     */
+    @Transactional(readOnly = true)
+    public WorkloadSimulationResponse simulate(UUID userId, int days, int newCardsPerDay,
+                                               double recallRate, int runs, Long seed) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("days must be between 1 and " + MAX_DAYS);
+        }
+        if (newCardsPerDay < 0 || newCardsPerDay > MAX_NEW_CARDS_PER_DAY) {
+            throw new IllegalArgumentException("newCardsPerDay must be between 0 and " + MAX_NEW_CARDS_PER_DAY);
+        }
+        if (!(recallRate > 0 && recallRate <= 1)) {
+            throw new IllegalArgumentException("recallRate must be in (0, 1]");
+        }
+        if (runs < 1 || runs > MAX_RUNS) {
+            throw new IllegalArgumentException("runs must be between 1 and " + MAX_RUNS);
+        }
+
+        long start = System.currentTimeMillis();
+        ZoneId zone = dailyActivityService.zoneOf(userId);
+        LocalDate today = LocalDate.now(zone);
+
+        // Pack the snapshot into a struct of arrays
+        List<ScheduleSnapshot> snapshots = cardProgressRepository.findScheduleSnapshots(userId);
+        int cards = snapshots.size();
+        int[] dueDay = new int[cards];
+        int[] interval = new int[cards];
+        float[] ease = new float[cards];
+        for (int i = 0; i < cards; i++) {
+            ScheduleSnapshot snapshot = snapshots.get(i);
+            dueDay[i] = snapshot.nextReview() == null ? 0
+                    : (int) Math.max(0, Math.min(Integer.MAX_VALUE,
+                            ChronoUnit.DAYS.between(today, snapshot.nextReview().atZone(zone).toLocalDate())));
+            interval[i] = snapshot.interval() != null ? snapshot.interval() : 0;
+            ease[i] = snapshot.easeFactor() != null ? snapshot.easeFactor() : SchedulingParameters.INITIAL_EASE_FACTOR;
+        }
+        long newCardsAvailable = MasteryCounts.count(cardRepository.countMasteryByUserId(userId).newCards());
+
+        SchedulingParameters params = schedulerParametersRepository.findByUserId(userId)
+                .map(SchedulingParameters::of)
+                .orElse(SchedulingParameters.DEFAULTS);
+        WorkloadSimulation simulation = new WorkloadSimulation(params, days, newCardsPerDay, recallRate,
+                dueDay, interval, ease, (int) Math.min(Integer.MAX_VALUE, newCardsAvailable));
+
+        // Independent random streams per run, split up front so results don't depend on thread timing
+        SplittableRandom root = seed != null ? new SplittableRandom(seed) : new SplittableRandom();
+        SplittableRandom[] randoms = new SplittableRandom[runs];
+        for (int run = 0; run < runs; run++) {
+            randoms[run] = root.split();
+        }
+        int[][] results = IntStream.range(0, runs)
+                .parallel()
+                .mapToObj(run -> simulation.run(randoms[run]))
+                .toArray(int[][]::new);
+
+        double[] meanReviews = new double[days];
+        int[] p90Reviews = new int[days];
+        int[] sample = new int[runs];
+        double total = 0;
+        double peak = 0;
+        for (int day = 0; day < days; day++) {
+            long sum = 0;
+            for (int run = 0; run < runs; run++) {
+                sample[run] = results[run][day];
+                sum += sample[run];
+            }
+            Arrays.sort(sample);
+            meanReviews[day] = (double) sum / runs;
+            p90Reviews[day] = sample[Math.min(runs - 1, (int) Math.ceil(runs * 0.9) - 1)];
+            total += meanReviews[day];
+            peak = Math.max(peak, meanReviews[day]);
+        }
+
+        log.info("Workload simulation: userId={}, cards={}, days={}, newPerDay={}, runs={} in {} ms",
+                userId, cards, days, newCardsPerDay, runs, System.currentTimeMillis() - start);
+
+        return WorkloadSimulationResponse.builder()
+                .from(today)
+                .days(days)
+                .newCardsPerDay(newCardsPerDay)
+                .recallRate(recallRate)
+                .runs(runs)
+                .cardsInReview(cards)
+                .newCardsAvailable(newCardsAvailable)
+                .meanReviews(meanReviews)
+                .p90Reviews(p90Reviews)
+                .newCards(simulation.newCardsPerDay())
+                .averageDailyReviews(total / days)
+                .peakDailyReviews(peak)
+                .build();
+    }
+}
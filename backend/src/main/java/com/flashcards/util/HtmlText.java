@@ -0,0 +1,108 @@
+package com.flashcards.util;
+
+/**
+ * HTML Text Extractor
+ * Strips HTML tags from rich-text card content with a single forward scan
+ *
+ * Same semantics as {@code html.replaceAll("<[^>]*>", "").trim()}:
+ * - Everything from '<' up to the next '>' is removed
+ * - A '<' without a closing '>' is kept as literal text
+ * - Entities (&amp;nbsp; etc.) are left untouched
+ *
+ * Unlike replaceAll, no regex is compiled per call, and strings without
+ * tags are returned without copying.
+ */
+public final class HtmlText {
+
+    private HtmlText() {
+    }
+
+    /**
+     * Extract plain text from HTML
+     *
+     * @param html HTML content (nullable)
+     * @return Trimmed text without tags, empty string for null input
+     */
+    public static String extract(String html) {
+        if (html == null) {
+            return "";
+        }
+
+        int tagStart = html.indexOf('<');
+        if (tagStart < 0) {
+            return html.trim();
+        }
+
+        StringBuilder text = new StringBuilder(html.length());
+        int pos = 0;
+        while (tagStart >= 0) {
+            int tagEnd = html.indexOf('>', tagStart + 1);
+            if (tagEnd < 0) {
+                // Unclosed '<' is not a tag - keep the rest as text
+                break;
+            }
+            text.append(html, pos, tagStart);
+            pos = tagEnd + 1;
+            tagStart = html.indexOf('<', pos);
+        }
+        text.append(html, pos, html.length());
+
+        return trim(text);
+    }
+
+    /**
+     * Check whether HTML has any visible (non-whitespace) text outside tags
+     * Does not allocate: stops at the first text character found
+     *
+     * @param html HTML content (nullable)
+     * @return true if there is text content
+     */
+    public static boolean hasText(CharSequence html) {
+        if (html == null) {
+            return false;
+        }
+
+        int length = html.length();
+        int i = 0;
+        while (i < length) {
+            char c = html.charAt(i);
+            if (c == '<') {
+                int tagEnd = indexOf(html, '>', i + 1);
+                if (tagEnd < 0) {
+                    // Unclosed '<' counts as text
+                    return true;
+                }
+                i = tagEnd + 1;
+            } else if (c > ' ') {
+                return true;
+            } else {
+                i++;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(CharSequence chars, char target, int from) {
+        for (int i = from; i < chars.length(); i++) {
+            if (chars.charAt(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Same rule as String.trim(): drop leading/trailing chars <= ' '
+     */
+    private static String trim(StringBuilder text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return text.substring(start, end);
+    }
+}
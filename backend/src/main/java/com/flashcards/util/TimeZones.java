@@ -0,0 +1,48 @@
+package com.flashcards.util;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Time zone id validation
+ * Zone ids are passed to PostgreSQL (AT TIME ZONE), so only ids both sides
+ * read the same way are accepted: IANA region ids (e.g. Asia/Ho_Chi_Minh) and UTC.
+ * Numeric offsets like "+07:00", "UTC+07:00" or "GMT+7" are rejected because
+ * PostgreSQL reads them with the inverted POSIX sign.
+ */
+public final class TimeZones {
+
+    private TimeZones() {
+    }
+
+    /**
+     * Parse a time zone id
+     *
+     * @param tz Zone id (e.g. "Europe/Berlin", "UTC")
+     * @return Zone (zero-offset ids are normalized to "UTC")
+     * @throws IllegalArgumentException for unknown ids and non-zero offsets
+     */
+    public static ZoneId parse(String tz) {
+        if (tz == null || tz.isBlank()) {
+            throw new IllegalArgumentException("Time zone is required");
+        }
+        ZoneId zone;
+        try {
+            zone = ZoneId.of(tz.trim());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid time zone: " + tz);
+        }
+        // Covers bare offsets ("+07:00") and prefixed ones ("UTC+07:00", "GMT+7"),
+        // which ZoneId.of returns as a ZoneRegion with fixed-offset rules
+        if (zone.getRules().isFixedOffset()) {
+            ZoneOffset offset = zone.getRules().getOffset(Instant.EPOCH);
+            if (offset.getTotalSeconds() != 0) {
+                throw new IllegalArgumentException("Use a region time zone id instead of an offset: " + tz);
+            }
+            return ZoneId.of("UTC");
+        }
+        return zone;
+    }
+}
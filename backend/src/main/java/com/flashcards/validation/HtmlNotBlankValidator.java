@@ -1,22 +1,18 @@
 package com.flashcards.validation;
 
+import com.flashcards.util.HtmlText;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
 /**
  * Validator for HtmlNotBlank annotation
- * Strips HTML tags and checks if remaining text is not blank
+ * Checks that the HTML has non-blank text outside its tags
  */
 public class HtmlNotBlankValidator implements ConstraintValidator<HtmlNotBlank, String> {
 
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
-        if (value == null) {
-            return false;
-        }
-
-        // Strip HTML tags and check if there's actual content
-        String textContent = value.replaceAll("<[^>]*>", "").trim();
-        return !textContent.isEmpty();
+        // Scan for text outside HTML tags (null counts as blank)
+        return HtmlText.hasText(value);
     }
 }
@@ -0,0 +1,19 @@
+-- Migration V11: Add plain-text columns to cards
+-- term_text / definition_text hold the HTML-stripped term and definition.
+-- They are written by the application on every insert/update so search,
+-- export and validation never strip HTML on read.
+
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS term_text TEXT;
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS definition_text TEXT;
+
+-- Backfill existing rows (same rule as HtmlText.extract)
+-- Trims every char <= ' ' like String.trim(), not only spaces as btrim() would
+UPDATE cards
+SET term_text = regexp_replace(regexp_replace(term, '<[^>]*>', '', 'g'),
+                               '^[\x01-\x20]+|[\x01-\x20]+$', '', 'g'),
+    definition_text = regexp_replace(regexp_replace(definition, '<[^>]*>', '', 'g'),
+                                     '^[\x01-\x20]+|[\x01-\x20]+$', '', 'g')
+WHERE term_text IS NULL OR definition_text IS NULL;
+
+COMMENT ON COLUMN cards.term_text IS 'Plain-text term (HTML stripped), derived at write time';
+COMMENT ON COLUMN cards.definition_text IS 'Plain-text definition (HTML stripped), derived at write time';
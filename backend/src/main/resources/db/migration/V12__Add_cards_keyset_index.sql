@@ -0,0 +1,6 @@
+-- Migration V12: Index for keyset pagination of cards by deck
+-- Serves ORDER BY position, id with WHERE deck_id = ? AND (position, id) > (?, ?)
+
+CREATE INDEX IF NOT EXISTS idx_cards_deck_position_id
+    ON cards (deck_id, position, id)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,24 @@
+-- Migration V13: Denormalized counters
+-- decks.card_count   = number of non-deleted cards in the deck
+-- folders.deck_count = number of non-deleted decks in the folder
+-- Maintained by the application on every write; CounterRepairService
+-- recomputes them nightly with the same queries as the backfill below.
+
+ALTER TABLE decks ADD COLUMN IF NOT EXISTS card_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE folders ADD COLUMN IF NOT EXISTS deck_count INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill
+UPDATE decks d SET card_count = s.cnt
+FROM (SELECT d2.id, COUNT(c.id) AS cnt FROM decks d2
+      LEFT JOIN cards c ON c.deck_id = d2.id AND c.deleted_at IS NULL
+      GROUP BY d2.id) s
+WHERE d.id = s.id AND d.card_count <> s.cnt;
+
+UPDATE folders f SET deck_count = s.cnt
+FROM (SELECT f2.id, COUNT(d.id) AS cnt FROM folders f2
+      LEFT JOIN decks d ON d.folder_id = f2.id AND d.deleted_at IS NULL
+      GROUP BY f2.id) s
+WHERE f.id = s.id AND f.deck_count <> s.cnt;
+
+COMMENT ON COLUMN decks.card_count IS 'Denormalized count of non-deleted cards';
+COMMENT ON COLUMN folders.deck_count IS 'Denormalized count of non-deleted decks';
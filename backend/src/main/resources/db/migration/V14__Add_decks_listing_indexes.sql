@@ -0,0 +1,21 @@
+-- Migration V14: Indexes for the sorted, keyset-paginated deck listing
+-- One index per sort key, each ending in id (the keyset tie-breaker).
+-- Partial on deleted_at IS NULL to match the entity's @Where clause.
+-- B-tree indexes can be scanned backwards, so each also serves the opposite direction
+-- (last_viewed_at is declared DESC NULLS LAST to match the default "recent first" order).
+
+CREATE INDEX IF NOT EXISTS idx_decks_user_last_viewed_id
+    ON decks (user_id, last_viewed_at DESC NULLS LAST, id DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_decks_user_updated_id
+    ON decks (user_id, updated_at, id)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_decks_user_title_id
+    ON decks (user_id, lower(title), id)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_decks_user_card_count_id
+    ON decks (user_id, card_count, id)
+    WHERE deleted_at IS NULL;
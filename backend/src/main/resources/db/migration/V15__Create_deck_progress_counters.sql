@@ -0,0 +1,33 @@
+-- Migration V15: Materialized per-(user, deck) mastery counters
+-- Buckets match MasteryLevel: NEW / STILL_LEARNING / ALMOST_DONE / MASTERED.
+-- Maintained incrementally by reviews, card create/delete and sync push;
+-- CounterRepairService recomputes them nightly with the backfill query below.
+
+CREATE TABLE IF NOT EXISTS deck_progress_counters (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id),
+    deck_id UUID NOT NULL REFERENCES decks(id),
+    new_count INTEGER NOT NULL DEFAULT 0,
+    learning_count INTEGER NOT NULL DEFAULT 0,
+    almost_done_count INTEGER NOT NULL DEFAULT 0,
+    mastered_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    deleted_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uq_deck_progress_user_deck UNIQUE (user_id, deck_id)
+);
+
+-- Backfill
+INSERT INTO deck_progress_counters (user_id, deck_id, new_count, learning_count, almost_done_count, mastered_count)
+SELECT d.user_id, d.id,
+       COUNT(c.id) FILTER (WHERE cp.id IS NULL OR cp.learning_state = 'NEW'),
+       COUNT(c.id) FILTER (WHERE cp.learning_state IN ('LEARNING_MCQ', 'LEARNING_TYPING', 'RELEARNING')
+                           OR (cp.learning_state = 'REVIEWING' AND COALESCE(cp.interval, 0) < 3)),
+       COUNT(c.id) FILTER (WHERE cp.learning_state = 'REVIEWING' AND COALESCE(cp.interval, 0) >= 3 AND COALESCE(cp.interval, 0) < 21),
+       COUNT(c.id) FILTER (WHERE cp.learning_state = 'REVIEWING' AND COALESCE(cp.interval, 0) >= 21)
+FROM decks d
+LEFT JOIN cards c ON c.deck_id = d.id AND c.deleted_at IS NULL
+LEFT JOIN card_progress cp ON cp.card_id = c.id AND cp.user_id = d.user_id
+WHERE d.deleted_at IS NULL
+GROUP BY d.user_id, d.id
+ON CONFLICT (user_id, deck_id) DO NOTHING;
@@ -0,0 +1,52 @@
+-- Migration V16: Per-day study rollup and stored streaks
+-- user_daily_activity is upserted on every study log write; user_streaks is
+-- extended in O(1) per active day (rebuilt from the rollup when an offline
+-- sync backfills an older day). Streak/heatmap reads no longer scan study_log.
+
+CREATE TABLE IF NOT EXISTS user_daily_activity (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id),
+    activity_date DATE NOT NULL,
+    review_count INTEGER NOT NULL DEFAULT 0,
+    time_spent_ms BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    deleted_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uq_user_daily_activity UNIQUE (user_id, activity_date)
+);
+
+CREATE TABLE IF NOT EXISTS user_streaks (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id),
+    current_streak INTEGER NOT NULL DEFAULT 0,
+    longest_streak INTEGER NOT NULL DEFAULT 0,
+    last_active_date DATE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    deleted_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uq_user_streaks_user UNIQUE (user_id)
+);
+
+-- Backfill the rollup (days in the session time zone, like the application)
+INSERT INTO user_daily_activity (user_id, activity_date, review_count, time_spent_ms)
+SELECT user_id, CAST(reviewed_at AS DATE), COUNT(*), COALESCE(SUM(time_taken_ms), 0)
+FROM study_log
+WHERE deleted_at IS NULL
+GROUP BY user_id, CAST(reviewed_at AS DATE)
+ON CONFLICT (user_id, activity_date) DO NOTHING;
+
+-- Backfill streaks (gaps-and-islands: consecutive days share date - row_number)
+WITH days AS (
+    SELECT user_id, activity_date,
+           activity_date - CAST(ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY activity_date) AS INTEGER) AS grp
+    FROM user_daily_activity
+), runs AS (
+    SELECT user_id, MAX(activity_date) AS end_date, COUNT(*) AS len
+    FROM days
+    GROUP BY user_id, grp
+)
+INSERT INTO user_streaks (user_id, current_streak, longest_streak, last_active_date)
+SELECT user_id, (ARRAY_AGG(len ORDER BY end_date DESC))[1], MAX(len), MAX(end_date)
+FROM runs
+GROUP BY user_id
+ON CONFLICT (user_id) DO NOTHING;
@@ -0,0 +1,6 @@
+-- Migration V17: Index for per-user time-range scans of study_log
+-- Serves the heatmap aggregation (GROUP BY local day over a reviewed_at range)
+-- and the other "logs of a user since X" queries.
+
+CREATE INDEX IF NOT EXISTS idx_study_log_user_reviewed
+    ON study_log (user_id, reviewed_at);
@@ -0,0 +1,5 @@
+-- Migration V18: Per-user time zone for study-day bucketing
+-- NULL means app.default-time-zone. Changing it rebuilds user_daily_activity
+-- and user_streaks from study_log in the new zone (DailyActivityService).
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS time_zone VARCHAR(64);
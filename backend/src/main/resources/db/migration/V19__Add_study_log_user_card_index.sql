@@ -0,0 +1,6 @@
+-- Migration V19: Index for streaming a user's review history card by card
+-- Serves retention analytics, which scans study_log ordered by
+-- (card_id, reviewed_at) and looks up the latest log per card.
+
+CREATE INDEX IF NOT EXISTS idx_study_log_user_card_reviewed
+    ON study_log (user_id, card_id, reviewed_at);
@@ -0,0 +1,54 @@
+-- Migration V20: Monthly range partitioning of study_log on reviewed_at
+-- Partitions are named study_log_pYYYYMM and cover one UTC calendar month.
+-- Queries bounded on reviewed_at only touch the matching partitions, and
+-- StudyLogArchiveService pre-creates upcoming months and archives old ones
+-- (gzip CSV export + DETACH + DROP), so table and index sizes stay bounded.
+-- Rows outside every monthly partition land in study_log_default.
+--
+-- The primary key of a partitioned table must contain the partition key,
+-- so it becomes (id, reviewed_at); ids stay unique (gen_random_uuid / UUIDv7).
+
+ALTER TABLE study_log RENAME TO study_log_unpartitioned;
+ALTER INDEX IF EXISTS idx_study_log_user_reviewed RENAME TO idx_study_log_unpartitioned_user_reviewed;
+ALTER INDEX IF EXISTS idx_study_log_user_card_reviewed RENAME TO idx_study_log_unpartitioned_user_card_reviewed;
+
+CREATE TABLE study_log (
+    LIKE study_log_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS,
+    CONSTRAINT pk_study_log PRIMARY KEY (id, reviewed_at),
+    CONSTRAINT fk_study_log_user FOREIGN KEY (user_id) REFERENCES users(id),
+    CONSTRAINT fk_study_log_card FOREIGN KEY (card_id) REFERENCES cards(id)
+) PARTITION BY RANGE (reviewed_at);
+
+-- Indexes on the parent are created on every partition (current and future)
+CREATE INDEX idx_study_log_user_reviewed ON study_log (user_id, reviewed_at);
+CREATE INDEX idx_study_log_user_card_reviewed ON study_log (user_id, card_id, reviewed_at);
+
+-- One partition per month from the oldest log up to 3 months ahead
+DO $$
+DECLARE
+    first_month DATE;
+    last_month DATE := CAST(date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '3 months' AS DATE);
+    month DATE;
+BEGIN
+    SELECT CAST(date_trunc('month', MIN(reviewed_at) AT TIME ZONE 'UTC') AS DATE)
+    INTO first_month
+    FROM study_log_unpartitioned;
+
+    month := LEAST(COALESCE(first_month, last_month), CAST(date_trunc('month', now() AT TIME ZONE 'UTC') AS DATE));
+    WHILE month <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF study_log FOR VALUES FROM (%L) TO (%L)',
+            'study_log_p' || to_char(month, 'YYYYMM'),
+            CAST(month AS TEXT) || ' 00:00:00+00',
+            CAST(CAST(month + INTERVAL '1 month' AS DATE) AS TEXT) || ' 00:00:00+00');
+        month := CAST(month + INTERVAL '1 month' AS DATE);
+    END LOOP;
+END $$;
+
+CREATE TABLE study_log_default PARTITION OF study_log DEFAULT;
+
+INSERT INTO study_log SELECT * FROM study_log_unpartitioned;
+
+DROP TABLE study_log_unpartitioned;
+
+ANALYZE study_log;
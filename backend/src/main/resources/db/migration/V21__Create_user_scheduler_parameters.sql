@@ -0,0 +1,22 @@
+-- Migration V21: Per-user SM-2 scheduling parameters
+-- Fitted nightly from study_log by SchedulerOptimizerService; ReviewService uses
+-- them instead of the global SM-2 constants. Users without a row use the defaults.
+
+CREATE TABLE IF NOT EXISTS user_scheduler_parameters (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id),
+    again_ease_delta REAL NOT NULL,
+    hard_ease_delta REAL NOT NULL,
+    easy_ease_delta REAL NOT NULL,
+    min_ease_factor REAL NOT NULL,
+    hard_interval_multiplier DOUBLE PRECISION NOT NULL,
+    easy_bonus DOUBLE PRECISION NOT NULL,
+    recall_reviews INTEGER NOT NULL,
+    log_loss DOUBLE PRECISION,
+    default_log_loss DOUBLE PRECISION,
+    fitted_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    deleted_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uq_user_scheduler_parameters_user UNIQUE (user_id)
+);
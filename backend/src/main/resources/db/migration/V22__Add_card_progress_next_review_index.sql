@@ -0,0 +1,6 @@
+-- Migration V22: Index for a user's cards by next review time
+-- Serves the due-day histogram read when a review fuzzes its interval
+-- (range scan over the tolerance window) and due-card lookups.
+
+CREATE INDEX IF NOT EXISTS idx_card_progress_user_next_review
+    ON card_progress (user_id, next_review);
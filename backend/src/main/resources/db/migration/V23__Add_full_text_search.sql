@@ -0,0 +1,47 @@
+-- Migration V23: Full-text search for cards and decks
+-- Replaces LOWER(col) LIKE '%term%' scans with generated tsvector columns and
+-- GIN indexes. The flashcards_search configuration tokenizes like 'simple'
+-- (no stemming, fits Vietnamese) and strips diacritics with unaccent, so
+-- "tieng viet" matches "tiếng Việt" (đ/Đ included).
+-- example_text is the HTML-stripped example, derived by the application like
+-- term_text / definition_text (V11), so markup never reaches the index.
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'flashcards_search') THEN
+        CREATE TEXT SEARCH CONFIGURATION flashcards_search (COPY = simple);
+        ALTER TEXT SEARCH CONFIGURATION flashcards_search
+            ALTER MAPPING FOR hword, hword_part, word WITH unaccent, simple;
+    END IF;
+END $$;
+
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS example_text TEXT;
+
+-- Backfill existing rows (same rule as HtmlText.extract, see V11)
+UPDATE cards
+SET example_text = regexp_replace(regexp_replace(example, '<[^>]*>', '', 'g'),
+                                  '^[\x01-\x20]+|[\x01-\x20]+$', '', 'g')
+WHERE example IS NOT NULL AND example_text IS NULL;
+
+COMMENT ON COLUMN cards.example_text IS 'Plain-text example (HTML stripped), derived at write time';
+
+-- Cards: HTML-stripped term (weight A), definition (B) and example (C)
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('flashcards_search', COALESCE(term_text, '')), 'A') ||
+        setweight(to_tsvector('flashcards_search', COALESCE(definition_text, '')), 'B') ||
+        setweight(to_tsvector('flashcards_search', COALESCE(example_text, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_cards_search_vector ON cards USING GIN (search_vector);
+
+-- Decks: title (weight A) and description (B)
+ALTER TABLE decks ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('flashcards_search', COALESCE(title, '')), 'A') ||
+        setweight(to_tsvector('flashcards_search', COALESCE(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_decks_search_vector ON decks USING GIN (search_vector);
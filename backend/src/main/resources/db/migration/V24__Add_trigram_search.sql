@@ -0,0 +1,25 @@
+-- Migration V24: Trigram indexes for fuzzy and substring search
+-- Typos and partial words ("vocabu", "recieve") don't match full-text
+-- lexemes. pg_trgm GIN indexes serve both similarity (<%) and
+-- LIKE '%...%' substring matches on normalized (lowercase, unaccented) text.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() is only STABLE (it looks up its dictionary by name), so it can't
+-- be used in generated columns or index expressions directly. This wrapper
+-- pins the dictionary and is safe to declare IMMUTABLE.
+CREATE OR REPLACE FUNCTION flashcards_normalize(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS $$ SELECT lower(public.unaccent('public.unaccent'::regdictionary, $1)) $$;
+
+-- Cards: normalized term, definition and example in one column
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS search_text text
+    GENERATED ALWAYS AS (
+        flashcards_normalize(concat_ws(' ', term_text, definition_text, example_text))
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_cards_search_text_trgm ON cards USING GIN (search_text gin_trgm_ops);
+
+-- Decks: normalized title (expression index, queries use the same expression)
+CREATE INDEX IF NOT EXISTS idx_decks_title_trgm ON decks USING GIN (flashcards_normalize(title) gin_trgm_ops);